@@ -0,0 +1,128 @@
+package com.reliaquest.api.benchmark;
+
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.dto.response.EmployeeResponse;
+import com.reliaquest.api.search.NameIndex;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Latency of one typo'd two-word fuzzy search, BK-tree index against a scan computing the edit distance to every name
+ * (with the names already tokenized, so the scan pays for distances only).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FuzzySearchBenchmark {
+
+    private static final String[] SYLLABLES = {
+        "an", "be", "chi", "da", "el", "fo", "ga", "hu", "is", "jo", "ka", "li", "mo", "na", "or", "pe", "qui", "ra",
+        "si", "ta", "ul", "vi", "wen", "xa", "yo", "zu"
+    };
+
+    @Param({"100000", "1000000"})
+    private int employees;
+
+    @Param({"1", "2"})
+    private int maxEdits;
+
+    private NameIndex index;
+    private List<List<String>> tokenized;
+    private String[] queries;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        List<EmployeeResponse> roster = new ArrayList<>(employees);
+        tokenized = new ArrayList<>(employees);
+        for (int i = 0; i < employees; i++) {
+            String name = capitalize(word(random, 2)) + " " + capitalize(word(random, 3));
+            roster.add(
+                    EmployeeResponse.builder().id(String.valueOf(i)).name(name).build());
+            tokenized.add(NameIndex.tokens(name));
+        }
+        RosterCache rosterCache = new RosterCache(Duration.ofDays(1), new SimpleMeterRegistry());
+        index = new NameIndex(rosterCache);
+        rosterCache.getOrLoad(() -> List.of(roster));
+
+        // existing names with one adjacent transposition, which is two edits
+        queries = new String[64];
+        for (int i = 0; i < queries.length; i++) {
+            char[] name = roster.get(random.nextInt(employees)).getName().toCharArray();
+            int at = 1 + random.nextInt(name.length - 2);
+            char swap = name[at];
+            name[at] = name[at + 1];
+            name[at + 1] = swap;
+            queries[i] = new String(name);
+        }
+    }
+
+    @Benchmark
+    public List<EmployeeResponse> bkTree() {
+        return index.search(query(), maxEdits);
+    }
+
+    @Benchmark
+    public int linearScan() {
+        List<String> query = NameIndex.tokens(query());
+        int matches = 0;
+        for (List<String> name : tokenized) {
+            boolean all = true;
+            for (String token : query) {
+                int allowed = Math.min(maxEdits, token.length() / 2);
+                boolean any = false;
+                for (String candidate : name) {
+                    if (NameIndex.distance(token, candidate) <= allowed) {
+                        any = true;
+                        break;
+                    }
+                }
+                if (!any) {
+                    all = false;
+                    break;
+                }
+            }
+            if (all) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    private String query() {
+        next = (next + 1) & (queries.length - 1);
+        return queries[next];
+    }
+
+    private static String word(Random random, int syllables) {
+        StringBuilder word = new StringBuilder();
+        for (int i = 0; i < syllables; i++) {
+            word.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+        }
+        return word.toString();
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+}
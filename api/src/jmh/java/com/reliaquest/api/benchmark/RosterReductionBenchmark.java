@@ -0,0 +1,82 @@
+package com.reliaquest.api.benchmark;
+
+import com.reliaquest.api.cache.EmployeeTable;
+import com.reliaquest.api.dto.response.EmployeeResponse;
+import com.reliaquest.api.service.Impl.RosterReducer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Highest salary, top ten and name search over one table, scanned on the calling thread or split over a fork/join pool
+ * with one thread per core (two at least). The roster size where parallel starts to win is the crossover that
+ * {@code api.reductions.parallel-threshold} should be set to for the host.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RosterReductionBenchmark {
+
+    @Param({"10000", "50000", "200000", "1000000"})
+    private int employees;
+
+    @Param({"sequential", "parallel"})
+    private String strategy;
+
+    private EmployeeTable table;
+    private RosterReducer reducer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        List<EmployeeResponse> roster = new ArrayList<>(employees);
+        for (int i = 0; i < employees; i++) {
+            roster.add(EmployeeResponse.builder()
+                    .id(String.valueOf(i))
+                    .name("Employee " + random.nextInt(1_000_000))
+                    .salary(30_000 + random.nextInt(470_000))
+                    .build());
+        }
+        table = EmployeeTable.of(roster);
+        // at least two threads, so the split is measured even where the service would stay sequential
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors());
+        reducer = strategy.equals("parallel") ? new RosterReducer(threads, 0, 16_384) : RosterReducer.sequential();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        reducer.destroy();
+    }
+
+    @Benchmark
+    public int highestSalary() {
+        return reducer.maxSalary(table);
+    }
+
+    @Benchmark
+    public int[] topTen() {
+        return reducer.topSalaryRows(table, 10);
+    }
+
+    @Benchmark
+    public int[] nameSearch() {
+        return reducer.rowsWithNameContaining(table, "employee 4242");
+    }
+}
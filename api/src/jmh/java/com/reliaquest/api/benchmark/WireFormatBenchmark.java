@@ -0,0 +1,75 @@
+package com.reliaquest.api.benchmark;
+
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.config.WireFormat;
+import com.reliaquest.api.dto.response.ApiResponse;
+import com.reliaquest.api.dto.response.EmployeeResponse;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Decode cost of a full roster response per wire format. The encoded payload size of each format is printed once per
+ * trial so it can be read next to the timings.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"50", "10000", "100000"})
+    private int employees;
+
+    @Param({"JSON", "SMILE", "CBOR"})
+    private WireFormat wireFormat;
+
+    private ObjectMapper objectMapper;
+    private JavaType responseType;
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        objectMapper = wireFormat.objectMapper();
+        responseType =
+                objectMapper.getTypeFactory().constructParametricType(ApiResponse.class, EmployeeResponse[].class);
+
+        EmployeeResponse[] roster = new EmployeeResponse[employees];
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < employees; i++) {
+            roster[i] = EmployeeResponse.builder()
+                    .id(UUID.randomUUID().toString())
+                    .name("Employee " + i)
+                    .salary(random.nextInt(30000, 500000))
+                    .age(random.nextInt(16, 70))
+                    .title("Title " + random.nextInt(500))
+                    .email("employee" + i + "@company.com")
+                    .build();
+        }
+        ApiResponse<EmployeeResponse[]> response = new ApiResponse<>();
+        response.setData(roster);
+        response.setStatus("Successfully processed request.");
+        payload = objectMapper.writeValueAsBytes(response);
+        System.out.printf("%n%s payload for %d employees: %d bytes%n", wireFormat, employees, payload.length);
+    }
+
+    @Benchmark
+    public ApiResponse<EmployeeResponse[]> decode() throws Exception {
+        return objectMapper.readValue(payload, responseType);
+    }
+}
@@ -0,0 +1,336 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.dto.response.EmployeeResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+
+/**
+ * Column store for one roster partition. Ids, names and emails are UTF-8 bytes in one shared array, titles are codes
+ * into a dictionary of the distinct titles, salaries and ages are plain ints. {@link EmployeeResponse} objects only
+ * exist while a caller holds on to what {@link #get(int)} returns, so a cached roster costs little more than its raw
+ * data. Ids are found through an open-addressing table of row numbers. Tables are immutable; appending or removing a
+ * row copies the columns as they are, without materializing or re-encoding the other rows.
+ */
+public final class EmployeeTable {
+
+    // stands in for a missing salary or age
+    public static final int NONE = Integer.MIN_VALUE;
+
+    private static final int ID = 0;
+    private static final int NAME = 1;
+    private static final int EMAIL = 2;
+    private static final int STRING_COLUMNS = 3;
+
+    private static final EmployeeTable EMPTY =
+            new EmployeeTable(0, new byte[0], new int[1], new int[0], new int[0], new String[0], new int[0], null);
+
+    private final int size;
+    private final byte[] text;
+    // start of every id, name and email in text, row-major; a negative start means null
+    private final int[] starts;
+    private final int[] salaries;
+    private final int[] ages;
+    private final String[] titles;
+    private final int[] titleCodes;
+    // row + 1 per slot, 0 for empty slots
+    private final int[] idSlots;
+
+    // idSlots null to index every row
+    private EmployeeTable(
+            int size,
+            byte[] text,
+            int[] starts,
+            int[] salaries,
+            int[] ages,
+            String[] titles,
+            int[] titleCodes,
+            int[] idSlots) {
+        this.size = size;
+        this.text = text;
+        this.starts = starts;
+        this.salaries = salaries;
+        this.ages = ages;
+        this.titles = titles;
+        this.titleCodes = titleCodes;
+        if (idSlots != null) {
+            this.idSlots = idSlots;
+        } else {
+            this.idSlots = new int[slotCount(size)];
+            for (int row = 0; row < size; row++) {
+                index(this.idSlots, row);
+            }
+        }
+    }
+
+    public static EmployeeTable of(List<EmployeeResponse> employees) {
+        if (employees.isEmpty()) {
+            return EMPTY;
+        }
+        int size = employees.size();
+        int[] salaries = new int[size];
+        int[] ages = new int[size];
+        int[] titleCodes = new int[size];
+        int[] starts = new int[size * STRING_COLUMNS + 1];
+
+        byte[][] encoded = new byte[size * STRING_COLUMNS][];
+        int length = 0;
+        Map<String, Integer> titleDictionary = new HashMap<>();
+        for (int row = 0; row < size; row++) {
+            EmployeeResponse employee = employees.get(row);
+            encoded[row * STRING_COLUMNS + ID] = utf8(employee.getId());
+            encoded[row * STRING_COLUMNS + NAME] = utf8(employee.getName());
+            encoded[row * STRING_COLUMNS + EMAIL] = utf8(employee.getEmail());
+            for (int column = 0; column < STRING_COLUMNS; column++) {
+                byte[] bytes = encoded[row * STRING_COLUMNS + column];
+                length += bytes != null ? bytes.length : 0;
+            }
+            salaries[row] = employee.getSalary() != null ? employee.getSalary() : NONE;
+            ages[row] = employee.getAge() != null ? employee.getAge() : NONE;
+            titleCodes[row] = employee.getTitle() != null
+                    ? titleDictionary.computeIfAbsent(employee.getTitle(), title -> titleDictionary.size())
+                    : -1;
+        }
+
+        byte[] text = new byte[length];
+        int offset = 0;
+        for (int i = 0; i < encoded.length; i++) {
+            byte[] bytes = encoded[i];
+            if (bytes == null) {
+                starts[i] = -offset - 1;
+            } else {
+                starts[i] = offset;
+                System.arraycopy(bytes, 0, text, offset, bytes.length);
+                offset += bytes.length;
+            }
+        }
+        starts[encoded.length] = offset;
+
+        String[] titles = new String[titleDictionary.size()];
+        titleDictionary.forEach((title, code) -> titles[code] = title);
+
+        return new EmployeeTable(size, text, starts, salaries, ages, titles, titleCodes, null);
+    }
+
+    // this table with the employee as a new last row
+    public EmployeeTable withAppended(EmployeeResponse employee) {
+        byte[][] encoded = {utf8(employee.getId()), utf8(employee.getName()), utf8(employee.getEmail())};
+        int added = 0;
+        for (byte[] bytes : encoded) {
+            added += bytes != null ? bytes.length : 0;
+        }
+        byte[] nextText = Arrays.copyOf(text, text.length + added);
+        int[] nextStarts = Arrays.copyOf(starts, starts.length + STRING_COLUMNS);
+        int offset = text.length;
+        for (int column = 0; column < STRING_COLUMNS; column++) {
+            int index = size * STRING_COLUMNS + column;
+            byte[] bytes = encoded[column];
+            if (bytes == null) {
+                nextStarts[index] = -offset - 1;
+            } else {
+                nextStarts[index] = offset;
+                System.arraycopy(bytes, 0, nextText, offset, bytes.length);
+                offset += bytes.length;
+            }
+        }
+        nextStarts[nextStarts.length - 1] = offset;
+
+        String[] nextTitles = titles;
+        int titleCode = -1;
+        if (employee.getTitle() != null) {
+            titleCode = Arrays.asList(titles).indexOf(employee.getTitle());
+            if (titleCode < 0) {
+                titleCode = titles.length;
+                nextTitles = Arrays.copyOf(titles, titles.length + 1);
+                nextTitles[titleCode] = employee.getTitle();
+            }
+        }
+        int[] nextTitleCodes = Arrays.copyOf(titleCodes, size + 1);
+        nextTitleCodes[size] = titleCode;
+        int[] nextSalaries = Arrays.copyOf(salaries, size + 1);
+        nextSalaries[size] = employee.getSalary() != null ? employee.getSalary() : NONE;
+        int[] nextAges = Arrays.copyOf(ages, size + 1);
+        nextAges[size] = employee.getAge() != null ? employee.getAge() : NONE;
+
+        // the id table only needs the new row while it stays at most half full
+        int[] nextSlots = slotCount(size + 1) == idSlots.length ? idSlots.clone() : null;
+        EmployeeTable appended = new EmployeeTable(
+                size + 1, nextText, nextStarts, nextSalaries, nextAges, nextTitles, nextTitleCodes, nextSlots);
+        if (nextSlots != null) {
+            appended.index(nextSlots, size);
+        }
+        return appended;
+    }
+
+    // this table without the row; later rows move up by one, and the id table is rebuilt from the id bytes
+    public EmployeeTable withoutRow(int row) {
+        if (row < 0 || row >= size) {
+            throw new IndexOutOfBoundsException(row);
+        }
+        int first = row * STRING_COLUMNS;
+        int next = first + STRING_COLUMNS;
+        int from = position(starts[first]);
+        int removed = position(starts[next]) - from;
+
+        byte[] nextText = new byte[text.length - removed];
+        System.arraycopy(text, 0, nextText, 0, from);
+        System.arraycopy(text, from + removed, nextText, from, text.length - from - removed);
+        int[] nextStarts = new int[starts.length - STRING_COLUMNS];
+        System.arraycopy(starts, 0, nextStarts, 0, first);
+        for (int index = next; index < starts.length; index++) {
+            int start = starts[index];
+            nextStarts[index - STRING_COLUMNS] = start < 0 ? start + removed : start - removed;
+        }
+        // a title only this row had stays in the dictionary, unused
+        return new EmployeeTable(
+                size - 1,
+                nextText,
+                nextStarts,
+                without(salaries, row),
+                without(ages, row),
+                titles,
+                without(titleCodes, row),
+                null);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // a new EmployeeResponse holding the row; callers may keep or modify it
+    public EmployeeResponse get(int row) {
+        return EmployeeResponse.builder()
+                .id(string(row, ID))
+                .name(string(row, NAME))
+                .salary(salaries[row] != NONE ? salaries[row] : null)
+                .age(ages[row] != NONE ? ages[row] : null)
+                .title(titleCodes[row] >= 0 ? titles[titleCodes[row]] : null)
+                .email(string(row, EMAIL))
+                .build();
+    }
+
+    public String name(int row) {
+        return string(row, NAME);
+    }
+
+    public boolean hasName(int row) {
+        return starts[row * STRING_COLUMNS + NAME] >= 0;
+    }
+
+    public int salary(int row) {
+        return salaries[row];
+    }
+
+    // row of the first employee with that id, or -1
+    public int indexOf(String id) {
+        if (id == null) {
+            return -1;
+        }
+        byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+        return find(idSlots, bytes, 0, bytes.length);
+    }
+
+    // rows as EmployeeResponse objects, each created when read
+    public List<EmployeeResponse> asList() {
+        return new Rows();
+    }
+
+    // bytes held by the columns themselves, without object headers
+    public long footprint() {
+        long bytes = text.length + 4L * (starts.length + salaries.length + ages.length + titleCodes.length);
+        bytes += 4L * idSlots.length;
+        for (String title : titles) {
+            bytes += title.length();
+        }
+        return bytes;
+    }
+
+    // row whose id is bytes[from, to), or -1
+    private int find(int[] slots, byte[] bytes, int from, int to) {
+        int slot = slot(slots, bytes, from, to);
+        while (slots[slot] != 0) {
+            int row = slots[slot] - 1;
+            int index = row * STRING_COLUMNS + ID;
+            int start = starts[index];
+            if (start >= 0 && Arrays.equals(text, start, end(index), bytes, from, to)) {
+                return row;
+            }
+            slot = (slot + 1) & (slots.length - 1);
+        }
+        return -1;
+    }
+
+    // adds the row's id to slots unless it has none or an earlier row has the same one
+    private void index(int[] slots, int row) {
+        int index = row * STRING_COLUMNS + ID;
+        int start = starts[index];
+        if (start < 0 || find(slots, text, start, end(index)) >= 0) {
+            return;
+        }
+        int slot = slot(slots, text, start, end(index));
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & (slots.length - 1);
+        }
+        slots[slot] = row + 1;
+    }
+
+    private static int slot(int[] slots, byte[] bytes, int from, int to) {
+        int hash = 1;
+        for (int i = from; i < to; i++) {
+            hash = 31 * hash + bytes[i];
+        }
+        return (hash ^ (hash >>> 16)) & (slots.length - 1);
+    }
+
+    // a power of two of at least twice the rows, so probes stay short
+    private static int slotCount(int rows) {
+        return Integer.highestOneBit(Math.max(2, rows * 2 - 1)) << 1;
+    }
+
+    private String string(int row, int column) {
+        int index = row * STRING_COLUMNS + column;
+        int start = starts[index];
+        if (start < 0) {
+            return null;
+        }
+        return new String(text, start, end(index) - start, StandardCharsets.UTF_8);
+    }
+
+    // where the string at index ends: the start of the next one, whether or not that one is null
+    private int end(int index) {
+        return position(starts[index + 1]);
+    }
+
+    // offset in text of a start, null or not
+    private static int position(int start) {
+        return start < 0 ? -start - 1 : start;
+    }
+
+    private static int[] without(int[] column, int row) {
+        int[] shrunk = new int[column.length - 1];
+        System.arraycopy(column, 0, shrunk, 0, row);
+        System.arraycopy(column, row + 1, shrunk, row, shrunk.length - row);
+        return shrunk;
+    }
+
+    private static byte[] utf8(String value) {
+        return value != null ? value.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    private class Rows extends AbstractList<EmployeeResponse> implements RandomAccess {
+
+        @Override
+        public EmployeeResponse get(int index) {
+            return EmployeeTable.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
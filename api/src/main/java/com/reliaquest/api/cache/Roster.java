@@ -0,0 +1,171 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.dto.response.EmployeeResponse;
+import java.time.Instant;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import lombok.Getter;
+
+/**
+ * Immutable copy of the upstream roster, kept as one {@link EmployeeTable} per upstream shard. Every change produces a
+ * new roster with the next version, so a version identifies one exact roster content.
+ */
+@Getter
+public class Roster {
+
+    private final long version;
+    private final Instant loadedAt;
+    private final List<EmployeeTable> tables;
+    private final List<List<EmployeeResponse>> partitions;
+    private final List<EmployeeResponse> employees;
+
+    public Roster(long version, Instant loadedAt, List<List<EmployeeResponse>> partitions) {
+        this(partitions.stream().map(EmployeeTable::of).toList(), version, loadedAt);
+    }
+
+    private Roster(List<EmployeeTable> tables, long version, Instant loadedAt) {
+        this.version = version;
+        this.loadedAt = loadedAt;
+        this.tables = tables;
+        this.partitions = tables.stream().map(EmployeeTable::asList).toList();
+        this.employees = new Rows(tables);
+    }
+
+    public int size() {
+        return employees.size();
+    }
+
+    // the employee with that id, materialized from its table, or null
+    public EmployeeResponse getEmployee(String id) {
+        for (EmployeeTable table : tables) {
+            int row = table.indexOf(id);
+            if (row >= 0) {
+                return table.get(row);
+            }
+        }
+        return null;
+    }
+
+    // the given rows of each table, one table after the other, each materialized only when read
+    public List<EmployeeResponse> select(List<int[]> rowsPerTable) {
+        return new Selection(tables, rowsPerTable);
+    }
+
+    // index of the partition holding the id, or -1
+    public int partitionOf(String id) {
+        for (int i = 0; i < tables.size(); i++) {
+            if (tables.get(i).indexOf(id) >= 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // bytes held by the tables, see EmployeeTable.footprint()
+    public long footprint() {
+        return tables.stream().mapToLong(EmployeeTable::footprint).sum();
+    }
+
+    // same content and version, confirmed current at loadedAt
+    Roster touched(Instant loadedAt) {
+        return new Roster(tables, version, loadedAt);
+    }
+
+    Roster with(int partition, EmployeeResponse employee) {
+        List<EmployeeTable> changed = new ArrayList<>(tables);
+        if (changed.isEmpty()) {
+            changed.add(EmployeeTable.of(List.of()));
+        }
+        int index = Math.max(0, Math.min(partition, changed.size() - 1));
+        changed.set(index, changed.get(index).withAppended(employee));
+        return new Roster(changed, version + 1, loadedAt);
+    }
+
+    Roster without(String id) {
+        List<EmployeeTable> changed = tables.stream()
+                .map(table -> {
+                    EmployeeTable remaining = table;
+                    for (int row = remaining.indexOf(id); row >= 0; row = remaining.indexOf(id)) {
+                        remaining = remaining.withoutRow(row);
+                    }
+                    return remaining;
+                })
+                .toList();
+        return new Roster(changed, version + 1, loadedAt);
+    }
+
+    // all partitions one after the other, without copying them
+    private static class Rows extends AbstractList<EmployeeResponse> implements RandomAccess {
+
+        private final List<EmployeeTable> tables;
+        private final int[] firstRows;
+        private final int size;
+
+        Rows(List<EmployeeTable> tables) {
+            this.tables = tables;
+            this.firstRows = new int[tables.size()];
+            int rows = 0;
+            for (int i = 0; i < tables.size(); i++) {
+                firstRows[i] = rows;
+                rows += tables.get(i).size();
+            }
+            this.size = rows;
+        }
+
+        @Override
+        public EmployeeResponse get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            int table = tables.size() - 1;
+            while (firstRows[table] > index) {
+                table--;
+            }
+            return tables.get(table).get(index - firstRows[table]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+
+    private static class Selection extends AbstractList<EmployeeResponse> implements RandomAccess {
+
+        private final List<EmployeeTable> tables;
+        private final List<int[]> rows;
+        private final int[] firstRows;
+        private final int size;
+
+        Selection(List<EmployeeTable> tables, List<int[]> rows) {
+            this.tables = tables;
+            this.rows = rows;
+            this.firstRows = new int[rows.size()];
+            int selected = 0;
+            for (int i = 0; i < rows.size(); i++) {
+                firstRows[i] = selected;
+                selected += rows.get(i).length;
+            }
+            this.size = selected;
+        }
+
+        @Override
+        public EmployeeResponse get(int index) {
+            if (index < 0 || index >= size) {
+                throw new IndexOutOfBoundsException(index);
+            }
+            int table = rows.size() - 1;
+            while (firstRows[table] > index) {
+                table--;
+            }
+            return tables.get(table).get(rows.get(table)[index - firstRows[table]]);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+    }
+}
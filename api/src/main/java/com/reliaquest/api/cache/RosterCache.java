@@ -0,0 +1,309 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.dto.response.EmployeeResponse;
+import com.reliaquest.api.jfr.RosterCacheEvent;
+import com.reliaquest.api.timing.RequestTimings;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Local copy of the upstream roster. Reads are served from it while it is younger than the ttl; loading a new copy is
+ * single-flight, so concurrent misses cost one upstream fetch instead of one each. When a load fails (typically a 429)
+ * the previous copy keeps being served, however old. Every operation is a {@link RosterCacheEvent} while JFR records.
+ */
+@Slf4j
+@Component
+public class RosterCache {
+
+    private final Duration ttl;
+    private final Clock clock;
+    private final AtomicReference<Roster> current = new AtomicReference<>();
+    private final ReentrantLock loadLock = new ReentrantLock();
+    // serializes publishing a change together with notifying listeners of it
+    private final Object changeLock = new Object();
+    private final List<RosterListener> listeners = new CopyOnWriteArrayList<>();
+    // ETag of the full partition last fetched from each upstream, for conditional revalidation
+    private final Map<String, String> eTags = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RosterCache(@Value("${mock.api.roster.ttl:30s}") Duration ttl, MeterRegistry meterRegistry) {
+        this(ttl, Clock.systemUTC());
+        Gauge.builder("roster.cache.size", () -> current().map(Roster::size).orElse(0))
+                .description("Employees held in the local roster copy")
+                .register(meterRegistry);
+        Gauge.builder(
+                        "roster.cache.version",
+                        () -> current().map(Roster::getVersion).orElse(0L))
+                .register(meterRegistry);
+        Gauge.builder(
+                        "roster.cache.footprint",
+                        () -> current().map(Roster::footprint).orElse(0L))
+                .description("Bytes held by the columns of the local roster copy")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    RosterCache(Duration ttl, Clock clock) {
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    /**
+     * Registers a listener for roster changes. If a roster is already cached the listener gets it right away.
+     */
+    public void addListener(RosterListener listener) {
+        synchronized (changeLock) {
+            listeners.add(listener);
+            current().ifPresent(listener::onLoaded);
+        }
+    }
+
+    public Optional<Roster> current() {
+        return Optional.ofNullable(current.get());
+    }
+
+    public Optional<Roster> fresh() {
+        return current().filter(this::isFresh);
+    }
+
+    // null when upstream sent none with the last full fetch
+    public String eTag(String upstream) {
+        return eTags.get(upstream);
+    }
+
+    public void recordETag(String upstream, String eTag) {
+        eTags.put(upstream, eTag);
+    }
+
+    public Map<String, String> eTags() {
+        return Map.copyOf(eTags);
+    }
+
+    /**
+     * Returns the cached roster while fresh, otherwise loads a new one with {@code loader}.
+     */
+    public Roster getOrLoad(Supplier<List<List<EmployeeResponse>>> loader) {
+        RosterCacheEvent event = new RosterCacheEvent();
+        event.begin();
+        Optional<Roster> fresh = fresh();
+        if (fresh.isPresent()) {
+            return record(event, "getOrLoad", "hit", fresh.get());
+        }
+        lockForLoad();
+        try {
+            // someone else may have loaded it while we waited
+            fresh = fresh();
+            return fresh.isPresent()
+                    ? record(event, "getOrLoad", "hit", fresh.get())
+                    : load(event, "getOrLoad", loader);
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * Loads a new roster regardless of the age of the cached one. Readers keep getting the cached roster meanwhile.
+     */
+    public Roster refresh(Supplier<List<List<EmployeeResponse>>> loader) {
+        RosterCacheEvent event = new RosterCacheEvent();
+        event.begin();
+        lockForLoad();
+        try {
+            return load(event, "refresh", loader);
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * Like {@link #refresh}, but {@code loader} gets the cached roster (or null) and may answer that nothing changed
+     * upstream by returning empty, in which case the cached roster stays and only counts as freshly loaded again.
+     */
+    public Roster revalidate(Function<Roster, Optional<List<List<EmployeeResponse>>>> loader) {
+        RosterCacheEvent event = new RosterCacheEvent();
+        event.begin();
+        lockForLoad();
+        try {
+            return revalidate(event, "revalidate", loader);
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the cached roster while fresh, otherwise revalidates it like {@link #revalidate}. Single-flight like
+     * {@link #getOrLoad}: callers that waited for another one's revalidation get its result.
+     */
+    public Roster getOrRevalidate(Function<Roster, Optional<List<List<EmployeeResponse>>>> loader) {
+        RosterCacheEvent event = new RosterCacheEvent();
+        event.begin();
+        Optional<Roster> fresh = fresh();
+        if (fresh.isPresent()) {
+            return record(event, "getOrRevalidate", "hit", fresh.get());
+        }
+        lockForLoad();
+        try {
+            fresh = fresh();
+            return fresh.isPresent()
+                    ? record(event, "getOrRevalidate", "hit", fresh.get())
+                    : revalidate(event, "getOrRevalidate", loader);
+        } finally {
+            loadLock.unlock();
+        }
+    }
+
+    // whether the cached roster has used up at least fraction of its ttl; false when nothing is cached
+    public boolean isAging(double fraction) {
+        Roster roster = current.get();
+        if (roster == null) {
+            return false;
+        }
+        long ageMillis = Duration.between(roster.getLoadedAt(), clock.instant()).toMillis();
+        return ageMillis >= ttl.toMillis() * fraction;
+    }
+
+    private Roster revalidate(
+            RosterCacheEvent event, String operation, Function<Roster, Optional<List<List<EmployeeResponse>>>> loader) {
+        Roster cached = current.get();
+        Optional<List<List<EmployeeResponse>>> changed;
+        try {
+            changed = loader.apply(cached);
+        } catch (RuntimeException ex) {
+            return stale(event, operation, cached, ex);
+        }
+        if (changed.isPresent()) {
+            return record(event, operation, "loaded", publish(changed.get()));
+        }
+        synchronized (changeLock) {
+            // re-read: a write may have landed while upstream was asked
+            Roster touched = current.updateAndGet(roster -> roster != null ? roster.touched(clock.instant()) : null);
+            return record(event, operation, "not-modified", touched);
+        }
+    }
+
+    private Roster load(RosterCacheEvent event, String operation, Supplier<List<List<EmployeeResponse>>> loader) {
+        List<List<EmployeeResponse>> partitions;
+        try {
+            partitions = loader.get();
+        } catch (RuntimeException ex) {
+            return stale(event, operation, current.get(), ex);
+        }
+        return record(event, operation, "loaded", publish(partitions));
+    }
+
+    private Roster stale(RosterCacheEvent event, String operation, Roster stale, RuntimeException ex) {
+        record(event, operation, "stale", stale);
+        if (stale == null) {
+            throw ex;
+        }
+        log.warn("Serving roster version {} after failed reload: {}", stale.getVersion(), ex.getMessage());
+        return stale;
+    }
+
+    // commits the event if JFR records it; roster (null when none) is the one served or published
+    private static Roster record(RosterCacheEvent event, String operation, String outcome, Roster roster) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.outcome = outcome;
+            event.version = roster != null ? roster.getVersion() : 0;
+            event.employees = roster != null ? roster.size() : 0;
+            event.commit();
+        }
+        return roster;
+    }
+
+    // time spent here by a request waiting for another one's load counts as its WAIT phase
+    private void lockForLoad() {
+        long timing = RequestTimings.start();
+        loadLock.lock();
+        RequestTimings.stop(RequestTimings.Phase.WAIT, timing);
+    }
+
+    private Roster publish(List<List<EmployeeResponse>> partitions) {
+        long timing = RequestTimings.start();
+        try {
+            synchronized (changeLock) {
+                Roster previous = current.get();
+                Roster loaded =
+                        new Roster(previous != null ? previous.getVersion() + 1 : 1, clock.instant(), partitions);
+                current.set(loaded);
+                listeners.forEach(listener -> listener.onLoaded(loaded));
+                return loaded;
+            }
+        } finally {
+            RequestTimings.stop(RequestTimings.Phase.ROSTER, timing);
+        }
+    }
+
+    /**
+     * Installs a roster restored from elsewhere (e.g. a snapshot file) along with the ETags its partitions were fetched
+     * with. It keeps its own loadedAt, so a roster older than the ttl is stale right away; the next {@link
+     * #getOrRevalidate} or {@link #revalidate} reconciles it with upstream, and a loader passing those ETags along
+     * (see {@link #eTag}) gets it confirmed with a 304 per unchanged partition.
+     */
+    public void restore(Roster roster, Map<String, String> eTags) {
+        RosterCacheEvent event = new RosterCacheEvent();
+        event.begin();
+        synchronized (changeLock) {
+            this.eTags.putAll(eTags);
+            current.set(roster);
+            listeners.forEach(listener -> listener.onLoaded(roster));
+            record(event, "restore", "loaded", roster);
+        }
+    }
+
+    // write-through of an employee created upstream; no-op until a roster has been loaded
+    public void add(int partition, EmployeeResponse employee) {
+        RosterCacheEvent event = new RosterCacheEvent();
+        event.begin();
+        synchronized (changeLock) {
+            Roster roster = current.get();
+            if (roster == null) {
+                record(event, "add", "unchanged", null);
+                return;
+            }
+            Roster changed = roster.with(partition, employee);
+            current.set(changed);
+            listeners.forEach(listener -> listener.onAdded(changed, employee));
+            record(event, "add", "changed", changed);
+        }
+    }
+
+    // write-through of an employee deleted upstream; no-op until a roster has been loaded
+    public void remove(String id) {
+        RosterCacheEvent event = new RosterCacheEvent();
+        event.begin();
+        synchronized (changeLock) {
+            Roster roster = current.get();
+            EmployeeResponse employee = roster != null ? roster.getEmployee(id) : null;
+            if (employee == null) {
+                record(event, "remove", "unchanged", roster);
+                return;
+            }
+            Roster changed = roster.without(id);
+            current.set(changed);
+            listeners.forEach(listener -> listener.onRemoved(changed, employee));
+            record(event, "remove", "changed", changed);
+        }
+    }
+
+    private boolean isFresh(Roster roster) {
+        return roster.getLoadedAt().plus(ttl).isAfter(clock.instant());
+    }
+}
@@ -0,0 +1,19 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.dto.response.EmployeeResponse;
+
+/**
+ * Notified by {@link RosterCache} of every change to the cached roster, in order and one at a time. Callbacks run while
+ * the change is being published, so they should be quick.
+ */
+public interface RosterListener {
+
+    // a whole roster replaced the previous one, e.g. after loading it from upstream
+    void onLoaded(Roster roster);
+
+    // employee was added, resulting in roster
+    void onAdded(Roster roster, EmployeeResponse employee);
+
+    // employee was removed, resulting in roster
+    void onRemoved(Roster roster, EmployeeResponse employee);
+}
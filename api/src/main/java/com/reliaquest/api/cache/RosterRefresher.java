@@ -0,0 +1,73 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.service.Impl.UpstreamBudget;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Refreshes the roster in the background before its ttl runs out, so user requests don't have to. A refresh is a
+ * conditional request per shard (see {@link EmployeeService#refreshRoster()}), which costs no payload when nothing
+ * changed. It only goes ahead while the {@link UpstreamBudget} has requests to spare beyond its reserve and no user
+ * write is in flight; otherwise it is skipped and tried again on the next tick.
+ */
+@Slf4j
+@Component
+public class RosterRefresher {
+
+    private final RosterCache rosterCache;
+    private final EmployeeService employeeService;
+    private final UpstreamBudget upstreamBudget;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final double fraction;
+    private final int shardCount;
+
+    public RosterRefresher(
+            RosterCache rosterCache,
+            EmployeeService employeeService,
+            UpstreamBudget upstreamBudget,
+            MeterRegistry meterRegistry,
+            @Value("${mock.api.roster.refresh-ahead.enabled:true}") boolean enabled,
+            @Value("${mock.api.roster.refresh-ahead.fraction:0.75}") double fraction,
+            @Value("${mock.api.shards:}") List<String> shardBaseUrls) {
+        this.rosterCache = rosterCache;
+        this.employeeService = employeeService;
+        this.upstreamBudget = upstreamBudget;
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.fraction = fraction;
+        this.shardCount = shardBaseUrls == null || shardBaseUrls.isEmpty() ? 1 : shardBaseUrls.size();
+    }
+
+    @Scheduled(
+            initialDelayString = "${mock.api.roster.refresh-ahead.tick:PT1S}",
+            fixedDelayString = "${mock.api.roster.refresh-ahead.tick:PT1S}")
+    void refreshAhead() {
+        // nothing cached means no user has asked yet; the first one loads it
+        if (!enabled || !rosterCache.isAging(fraction)) {
+            return;
+        }
+        if (!upstreamBudget.allowsBackground(shardCount)) {
+            count("skipped");
+            return;
+        }
+        long version = rosterCache.current().map(Roster::getVersion).orElse(0L);
+        try {
+            employeeService.refreshRoster();
+            long refreshed = rosterCache.current().map(Roster::getVersion).orElse(0L);
+            count(refreshed != version ? "changed" : "unchanged");
+        } catch (RuntimeException ex) {
+            log.debug("Refresh-ahead failed: {}", ex.getMessage());
+            count("failed");
+        }
+    }
+
+    private void count(String result) {
+        meterRegistry.counter("roster.refresh.ahead", "result", result).increment();
+    }
+}
@@ -0,0 +1,258 @@
+package com.reliaquest.api.cache;
+
+import com.reliaquest.api.dto.response.EmployeeResponse;
+import com.reliaquest.api.service.EmployeeService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Persists the roster cache to a local file so a restarted api starts warm instead of sending its first reads upstream
+ * all at once. The snapshot is written on shutdown and periodically, and read (memory-mapped) while the context starts,
+ * i.e. before the web server accepts traffic. The restored roster keeps the time it was last loaded or confirmed
+ * upstream, so one older than the ttl counts as stale. Once the app is ready it is revalidated with upstream in the
+ * background, conditionally on the ETags saved with it, which usually costs a 304 per shard, not the whole roster.
+ * Reads arriving before that finishes wait for the same revalidation instead of fetching the roster again.
+ *
+ * <p>Format: magic, format version, roster version, loaded-at millis, upstream base urls, upstream ETags, partitions of
+ * employees with length-prefixed UTF-8 strings and int salary/age, then a CRC32 of everything before it. A snapshot is
+ * ignored when any of magic, format version, upstream or checksum don't match, or when its roster was loaded longer
+ * than max-age ago.
+ */
+@Slf4j
+@Component
+public class RosterSnapshotStore {
+
+    private static final int MAGIC = 0x52535452; // "RSTR"
+    private static final int FORMAT_VERSION = 2;
+    private static final int NULL_INT = Integer.MIN_VALUE;
+
+    private final RosterCache rosterCache;
+    private final EmployeeService employeeService;
+    private final Executor upstreamExecutor;
+    private final boolean enabled;
+    private final Path path;
+    private final Duration maxAge;
+    private final String upstream;
+
+    private volatile long savedVersion = -1;
+    private volatile boolean restored;
+
+    public RosterSnapshotStore(
+            RosterCache rosterCache,
+            EmployeeService employeeService,
+            Executor upstreamExecutor,
+            @Value("${mock.api.roster.snapshot.enabled:true}") boolean enabled,
+            @Value("${mock.api.roster.snapshot.path:${java.io.tmpdir}/employee-api/roster.snapshot}") Path path,
+            @Value("${mock.api.roster.snapshot.max-age:1h}") Duration maxAge,
+            @Value("${mock.api.base-url}") String mockApiBaseUrl,
+            @Value("${mock.api.shards:}") List<String> shardBaseUrls) {
+        this.rosterCache = rosterCache;
+        this.employeeService = employeeService;
+        this.upstreamExecutor = upstreamExecutor;
+        this.enabled = enabled;
+        this.path = path;
+        this.maxAge = maxAge;
+        this.upstream =
+                shardBaseUrls == null || shardBaseUrls.isEmpty() ? mockApiBaseUrl : String.join(",", shardBaseUrls);
+    }
+
+    @PostConstruct
+    void restore() {
+        if (!enabled || !Files.isRegularFile(path)) {
+            return;
+        }
+        try {
+            Optional<Snapshot> snapshot = read(path, upstream, maxAge);
+            if (snapshot.isPresent()) {
+                Roster roster = snapshot.get().roster();
+                rosterCache.restore(roster, snapshot.get().eTags());
+                savedVersion = roster.getVersion();
+                restored = true;
+                log.info(
+                        "Restored roster version {} with {} employees loaded at {} from {}",
+                        roster.getVersion(),
+                        roster.size(),
+                        roster.getLoadedAt(),
+                        path);
+            }
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Ignoring unreadable roster snapshot {}: {}", path, ex.getMessage());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void reconcile() {
+        if (!restored) {
+            return;
+        }
+        upstreamExecutor.execute(() -> {
+            try {
+                employeeService.refreshRoster();
+            } catch (RuntimeException ex) {
+                log.warn("Could not reconcile restored roster with upstream: {}", ex.getMessage());
+            }
+        });
+    }
+
+    @Scheduled(
+            initialDelayString = "${mock.api.roster.snapshot.interval:PT5M}",
+            fixedDelayString = "${mock.api.roster.snapshot.interval:PT5M}")
+    void savePeriodically() {
+        save();
+    }
+
+    // the scheduled save and the one on shutdown may overlap, and both write the same temporary file
+    @PreDestroy
+    synchronized void save() {
+        // ETags before the roster: one older than the roster's content only costs a full fetch after restoring, one
+        // newer could have upstream confirm content it never sent
+        Map<String, String> eTags = rosterCache.eTags();
+        Optional<Roster> roster = rosterCache.current();
+        if (!enabled || roster.isEmpty() || roster.get().getVersion() == savedVersion) {
+            return;
+        }
+        try {
+            write(path, upstream, new Snapshot(roster.get(), eTags));
+            savedVersion = roster.get().getVersion();
+            log.debug("Saved roster version {} to {}", savedVersion, path);
+        } catch (IOException ex) {
+            log.warn("Could not save roster snapshot to {}: {}", path, ex.getMessage());
+        }
+    }
+
+    static void write(Path path, String upstream, Snapshot snapshot) throws IOException {
+        Roster roster = snapshot.roster();
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        Path temp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (OutputStream file = Files.newOutputStream(temp)) {
+            CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(file), new CRC32());
+            DataOutputStream out = new DataOutputStream(checked);
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(roster.getVersion());
+            out.writeLong(roster.getLoadedAt().toEpochMilli());
+            writeString(out, upstream);
+            out.writeInt(snapshot.eTags().size());
+            for (Map.Entry<String, String> eTag : snapshot.eTags().entrySet()) {
+                writeString(out, eTag.getKey());
+                writeString(out, eTag.getValue());
+            }
+            out.writeInt(roster.getPartitions().size());
+            for (List<EmployeeResponse> partition : roster.getPartitions()) {
+                out.writeInt(partition.size());
+                for (EmployeeResponse employee : partition) {
+                    writeString(out, employee.getId());
+                    writeString(out, employee.getName());
+                    out.writeInt(employee.getSalary() != null ? employee.getSalary() : NULL_INT);
+                    out.writeInt(employee.getAge() != null ? employee.getAge() : NULL_INT);
+                    writeString(out, employee.getTitle());
+                    writeString(out, employee.getEmail());
+                }
+            }
+            out.flush();
+            new DataOutputStream(file).writeLong(checked.getChecksum().getValue());
+        }
+        Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    static Optional<Snapshot> read(Path path, String upstream, Duration maxAge) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            int bodyLength = buffer.limit() - Long.BYTES;
+            if (bodyLength < 2 * Integer.BYTES || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                return Optional.empty();
+            }
+            CRC32 crc = new CRC32();
+            crc.update(buffer.slice(0, bodyLength));
+            if (crc.getValue() != buffer.getLong(bodyLength)) {
+                log.warn("Roster snapshot {} is corrupt", path);
+                return Optional.empty();
+            }
+
+            long version = buffer.getLong();
+            Instant loadedAt = Instant.ofEpochMilli(buffer.getLong());
+            if (!upstream.equals(readString(buffer)) || loadedAt.plus(maxAge).isBefore(Instant.now())) {
+                return Optional.empty();
+            }
+            int eTagCount = buffer.getInt();
+            Map<String, String> eTags = new HashMap<>();
+            for (int i = 0; i < eTagCount; i++) {
+                eTags.put(readString(buffer), readString(buffer));
+            }
+            int partitionCount = buffer.getInt();
+            List<List<EmployeeResponse>> partitions = new ArrayList<>(partitionCount);
+            for (int p = 0; p < partitionCount; p++) {
+                int size = buffer.getInt();
+                List<EmployeeResponse> partition = new ArrayList<>(size);
+                for (int i = 0; i < size; i++) {
+                    partition.add(EmployeeResponse.builder()
+                            .id(readString(buffer))
+                            .name(readString(buffer))
+                            .salary(readInt(buffer))
+                            .age(readInt(buffer))
+                            .title(readString(buffer))
+                            .email(readString(buffer))
+                            .build());
+                }
+                partitions.add(partition);
+            }
+            return Optional.of(new Snapshot(new Roster(version, loadedAt, partitions), eTags));
+        }
+    }
+
+    // a roster with the ETags of the upstream partitions it was fetched from
+    record Snapshot(Roster roster, Map<String, String> eTags) {}
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static Integer readInt(ByteBuffer buffer) {
+        int value = buffer.getInt();
+        return value == NULL_INT ? null : value;
+    }
+}
@@ -1,13 +1,84 @@
 package com.reliaquest.api.config;
 
+import com.reliaquest.api.jfr.UpstreamEventInterceptor;
+import com.reliaquest.api.timing.UpstreamTimingInterceptor;
+import java.lang.reflect.Type;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
+@EnableScheduling
 public class ApiConfiguration {
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(
+            RestTemplateBuilder restTemplateBuilder, @Value("${mock.api.wire-format:smile}") WireFormat wireFormat) {
+        // count body bytes into upstream JFR events while recording, and split Server-Timing upstream from decode
+        RestTemplate restTemplate = restTemplateBuilder
+                .additionalInterceptors(new UpstreamEventInterceptor(), new UpstreamTimingInterceptor())
+                .build();
+        if (wireFormat != WireFormat.JSON) {
+            // first in line, so its media type leads the Accept header ahead of JSON
+            restTemplate.getMessageConverters().add(0, new ResponseOnlyConverter(wireFormat));
+        }
+        return restTemplate;
+    }
+
+    /*
+     * Runs calls to several mock servers in parallel (sharded fan-out). Sized for a handful of in-flight upstream
+     * requests per inbound request rather than for CPU work.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService upstreamExecutor(@Value("${mock.api.fan-out-threads:16}") int threads) {
+        return Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("upstream-"));
+    }
+
+    /*
+     * Runs the extra workers of bulk lookups. A worker waits on upstreamExecutor itself (sharded fan-out, hedges), so
+     * it must not take one of its threads: enough waiting workers would leave none for what they wait on. Without an
+     * idle thread here the requesting thread runs the worker itself rather than queueing it.
+     */
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService bulkLookupExecutor(@Value("${mock.api.bulk.threads:8}") int threads) {
+        return new ThreadPoolExecutor(
+                threads,
+                threads,
+                60,
+                TimeUnit.SECONDS,
+                new SynchronousQueue<>(),
+                new CustomizableThreadFactory("bulk-lookup-"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    /*
+     * Request bodies are tiny and must stay readable by any server version, so they are always written as JSON; only
+     * responses are negotiated.
+     */
+    private static class ResponseOnlyConverter extends AbstractJackson2HttpMessageConverter {
+
+        ResponseOnlyConverter(WireFormat wireFormat) {
+            super(wireFormat.objectMapper(), wireFormat.getMediaType());
+        }
+
+        @Override
+        public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+            return false;
+        }
+
+        @Override
+        public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+            return false;
+        }
     }
 }
@@ -0,0 +1,31 @@
+package com.reliaquest.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Encoding requested from the mock employee API for response bodies. Binary formats are only ever asked for through
+ * the Accept header, with JSON listed after them, so a server that doesn't support them still answers in JSON.
+ */
+@Getter
+public enum WireFormat {
+    SMILE(new MediaType("application", "x-jackson-smile")),
+    CBOR(MediaType.APPLICATION_CBOR),
+    JSON(MediaType.APPLICATION_JSON);
+
+    private final MediaType mediaType;
+
+    WireFormat(MediaType mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public ObjectMapper objectMapper() {
+        return switch (this) {
+            case SMILE -> Jackson2ObjectMapperBuilder.smile().build();
+            case CBOR -> Jackson2ObjectMapperBuilder.cbor().build();
+            case JSON -> Jackson2ObjectMapperBuilder.json().build();
+        };
+    }
+}
@@ -1,17 +1,30 @@
 package com.reliaquest.api.controller;
 
+import com.reliaquest.api.dto.request.BulkLookupRequest;
 import com.reliaquest.api.dto.request.CreateEmployeeRequest;
+import com.reliaquest.api.dto.response.EmployeeField;
+import com.reliaquest.api.dto.response.EmployeeLookupResult;
+import com.reliaquest.api.dto.response.EmployeeProjection;
 import com.reliaquest.api.dto.response.EmployeeResponse;
+import com.reliaquest.api.dto.response.EmployeeSummaryResponse;
+import com.reliaquest.api.dto.response.SalaryStatsResponse;
 import com.reliaquest.api.exception.EmployeeServiceException;
 import com.reliaquest.api.service.EmployeeService;
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @Slf4j
@@ -20,8 +33,10 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class EmployeeController implements IEmployeeController<EmployeeResponse, CreateEmployeeRequest> {
 
-    @Autowired
-    private EmployeeService employeeService;
+    public static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
+    private final EmployeeService employeeService;
 
     @Override
     public ResponseEntity<List<EmployeeResponse>> getAllEmployees() {
@@ -45,6 +60,43 @@ public class EmployeeController implements IEmployeeController<EmployeeResponse,
         }
     }
 
+    // typo-tolerant search, e.g. /search/jonh?fuzzy=true&maxEdits=1, closest names first
+    @GetMapping(value = "/search/{searchString}", params = "fuzzy=true")
+    public ResponseEntity<List<EmployeeResponse>> getEmployeesByFuzzyNameSearch(
+            @PathVariable String searchString, @RequestParam(defaultValue = "2") int maxEdits) {
+        try {
+            List<EmployeeResponse> employees = employeeService.getEmployeesByFuzzyNameSearch(searchString, maxEdits);
+            return ResponseEntity.ok(employees);
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected fuzzy search {}: {}", searchString, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(Collections.emptyList());
+        } catch (EmployeeServiceException e) {
+            log.error("Error in getEmployeesByFuzzyNameSearch: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.emptyList());
+        }
+    }
+
+    // employees with only the requested properties, e.g. ?fields=employee_name,employee_salary&search=ann
+    @GetMapping("/list")
+    public ResponseEntity<EmployeeProjection> getEmployees(
+            @RequestParam(required = false) String fields, @RequestParam(required = false) String search) {
+        Set<EmployeeField> fieldSet;
+        try {
+            fieldSet = EmployeeField.parse(fields);
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected fields {}: {}", fields, e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        try {
+            List<EmployeeResponse> employees = employeeService.getEmployees(search, fieldSet);
+            return ResponseEntity.ok(new EmployeeProjection(employees, fieldSet));
+        } catch (EmployeeServiceException e) {
+            log.error("Error in getEmployees: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                    .body(new EmployeeProjection(Collections.emptyList(), fieldSet));
+        }
+    }
+
     @Override
     public ResponseEntity<EmployeeResponse> getEmployeeById(String id) {
         try {
@@ -59,6 +111,23 @@ public class EmployeeController implements IEmployeeController<EmployeeResponse,
         }
     }
 
+    // many ids at once; results keep the order of the ids, with found=false for unknown ones
+    @PostMapping("/lookup")
+    public ResponseEntity<List<EmployeeLookupResult>> getEmployeesByIds(@RequestBody BulkLookupRequest request) {
+        if (request == null || request.getIds() == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        try {
+            return ResponseEntity.ok(employeeService.getEmployeesByIds(request.getIds()));
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected bulk lookup: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (EmployeeServiceException e) {
+            log.error("Error in getEmployeesByIds: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(Collections.emptyList());
+        }
+    }
+
     @Override
     public ResponseEntity<Integer> getHighestSalaryOfEmployees() {
         try {
@@ -81,6 +150,32 @@ public class EmployeeController implements IEmployeeController<EmployeeResponse,
         }
     }
 
+    // highest salary, top ten and an optional name search in one answer, e.g. /summary?search=ann
+    @GetMapping("/summary")
+    public ResponseEntity<EmployeeSummaryResponse> getEmployeeSummary(@RequestParam(required = false) String search) {
+        try {
+            return ResponseEntity.ok(employeeService.getEmployeeSummary(search));
+        } catch (EmployeeServiceException e) {
+            log.error("Error in getEmployeeSummary: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    // salary percentiles, average and per-title count/sum/min/max, kept up to date as employees change
+    @GetMapping("/stats")
+    public ResponseEntity<SalaryStatsResponse> getSalaryStatistics() {
+        try {
+            SalaryStatsResponse stats = employeeService.getSalaryStatistics();
+            if (stats != null) {
+                return ResponseEntity.ok(stats);
+            }
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (EmployeeServiceException e) {
+            log.error("Error in getSalaryStatistics: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @Override
     public ResponseEntity<EmployeeResponse> createEmployee(CreateEmployeeRequest createEmployeeRequest) {
         try {
@@ -95,6 +190,29 @@ public class EmployeeController implements IEmployeeController<EmployeeResponse,
         }
     }
 
+    // same as createEmployee, but a retry with the same Idempotency-Key returns the first result
+    @PostMapping(headers = IDEMPOTENCY_KEY)
+    public ResponseEntity<EmployeeResponse> createEmployee(
+            @RequestHeader(IDEMPOTENCY_KEY) String idempotencyKey,
+            @RequestBody CreateEmployeeRequest createEmployeeRequest) {
+        if (!StringUtils.hasText(idempotencyKey) || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        try {
+            EmployeeResponse employee = employeeService.createEmployee(createEmployeeRequest, idempotencyKey);
+            if (employee != null) {
+                return ResponseEntity.status(HttpStatus.CREATED).body(employee);
+            }
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected Idempotency-Key {}: {}", idempotencyKey, e.getMessage());
+            return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).build();
+        } catch (EmployeeServiceException e) {
+            log.error("Error in createEmployee: {}", e.getMessage());
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     @Override
     public ResponseEntity<String> deleteEmployeeById(String id) {
         try {
@@ -0,0 +1,16 @@
+package com.reliaquest.api.dto.request;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkLookupRequest {
+
+    private List<String> ids;
+}
@@ -0,0 +1,53 @@
+package com.reliaquest.api.dto.response;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Serialized properties of {@link EmployeeResponse}, for selecting a subset of them.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum EmployeeField {
+    ID("id", EmployeeResponse::getId),
+    NAME("employee_name", EmployeeResponse::getName),
+    SALARY("employee_salary", EmployeeResponse::getSalary),
+    AGE("employee_age", EmployeeResponse::getAge),
+    TITLE("employee_title", EmployeeResponse::getTitle),
+    EMAIL("employee_email", EmployeeResponse::getEmail);
+
+    private final String property;
+    private final Function<EmployeeResponse, Object> accessor;
+
+    /**
+     * Parses comma-separated property names such as {@code employee_name,employee_salary}; bare names like
+     * {@code name} are accepted too. Blank input selects every field.
+     *
+     * @throws IllegalArgumentException for an unknown name
+     */
+    public static Set<EmployeeField> parse(String fields) {
+        Set<EmployeeField> parsed = EnumSet.noneOf(EmployeeField.class);
+        if (fields != null) {
+            for (String name : fields.split(",")) {
+                String trimmed = name.trim();
+                if (!trimmed.isEmpty()) {
+                    parsed.add(Arrays.stream(values())
+                            .filter(field -> field.property.equals(trimmed)
+                                    || field.name().equalsIgnoreCase(trimmed))
+                            .findFirst()
+                            .orElseThrow(() -> new IllegalArgumentException("Unknown employee field: " + trimmed)));
+                }
+            }
+        }
+        return parsed.isEmpty() ? EnumSet.allOf(EmployeeField.class) : parsed;
+    }
+
+    public static String join(Set<EmployeeField> fields) {
+        return fields.stream().map(EmployeeField::getProperty).collect(Collectors.joining(","));
+    }
+}
@@ -0,0 +1,22 @@
+package com.reliaquest.api.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EmployeeLookupResult {
+
+    private String id;
+    private boolean found;
+    // absent when not found
+    private EmployeeResponse employee;
+
+    public static EmployeeLookupResult of(String id, EmployeeResponse employee) {
+        return new EmployeeLookupResult(id, employee != null, employee);
+    }
+}
@@ -0,0 +1,47 @@
+package com.reliaquest.api.dto.response;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Employees serialized as a JSON array with only the selected properties. The serializer reads straight from the
+ * {@link EmployeeResponse} instances, so no trimmed copies are built.
+ */
+@JsonSerialize(using = EmployeeProjection.Serializer.class)
+public record EmployeeProjection(List<EmployeeResponse> employees, Set<EmployeeField> fields) {
+
+    public static class Serializer extends StdSerializer<EmployeeProjection> {
+
+        private static final long serialVersionUID = 1L;
+
+        public Serializer() {
+            super(EmployeeProjection.class);
+        }
+
+        @Override
+        public void serialize(EmployeeProjection projection, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            gen.writeStartArray(projection.employees(), projection.employees().size());
+            for (EmployeeResponse employee : projection.employees()) {
+                gen.writeStartObject(employee);
+                for (EmployeeField field : projection.fields()) {
+                    Object value = field.getAccessor().apply(employee);
+                    if (value instanceof Integer number) {
+                        gen.writeNumberField(field.getProperty(), number);
+                    } else if (value != null) {
+                        gen.writeStringField(field.getProperty(), value.toString());
+                    } else {
+                        gen.writeNullField(field.getProperty());
+                    }
+                }
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+        }
+    }
+}
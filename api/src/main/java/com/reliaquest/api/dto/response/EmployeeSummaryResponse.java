@@ -0,0 +1,24 @@
+package com.reliaquest.api.dto.response;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class EmployeeSummaryResponse {
+
+    // roster version every part of the summary was computed from
+    private long rosterVersion;
+
+    private Integer highestSalary;
+
+    private List<String> topTenHighestEarningEmployeeNames;
+
+    // employees whose name contains the search string; empty without one
+    private List<EmployeeResponse> searchResults;
+}
@@ -0,0 +1,28 @@
+package com.reliaquest.api.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class QueuedCreateStatus {
+
+    public enum State {
+        QUEUED,
+        CREATED,
+        FAILED
+    }
+
+    private String trackingId;
+    private State state;
+    // upstream attempts so far
+    private int attempts;
+    // only once created
+    private EmployeeResponse employee;
+    // only once failed
+    private String error;
+}
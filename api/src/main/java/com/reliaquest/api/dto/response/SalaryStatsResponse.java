@@ -0,0 +1,39 @@
+package com.reliaquest.api.dto.response;
+
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class SalaryStatsResponse {
+
+    // roster version these statistics were computed for
+    private long rosterVersion;
+
+    private long count;
+    private double average;
+    private Integer min;
+    private Integer max;
+
+    // estimated salary per percentile, e.g. "p95"; within the sketch's relative accuracy
+    private Map<String, Integer> percentiles;
+
+    private Map<String, TitleStats> titles;
+
+    @Data
+    @Builder
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class TitleStats {
+        private long count;
+        private long sum;
+        private double average;
+        private Integer min;
+        private Integer max;
+    }
+}
@@ -0,0 +1,33 @@
+package com.reliaquest.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Handling of one request to the api, from the outermost filter on, so shed (503) and not-modified (304) answers are
+ * included.
+ */
+@Name("com.reliaquest.api.InboundRequest")
+@Label("Inbound Request")
+@Category({"Employee API", "Web"})
+@Description("Request handled by the employee api")
+@StackTrace(false)
+public class InboundRequestEvent extends Event {
+
+    @Label("Method")
+    public String method;
+
+    @Label("URI Template")
+    @Description("Matched mapping pattern, or the request URI when none matched")
+    public String uriTemplate;
+
+    @Label("Handler")
+    public String handler;
+
+    @Label("Status")
+    public int status;
+}
@@ -0,0 +1,33 @@
+package com.reliaquest.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A rebuild, update or search of the fuzzy name index.
+ */
+@Name("com.reliaquest.api.NameIndex")
+@Label("Name Index")
+@Category({"Employee API", "Index"})
+@Description("Operation on the fuzzy name index")
+@StackTrace(false)
+public class NameIndexEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Max Edits")
+    public int maxEdits;
+
+    @Label("Tokens")
+    @Description("Tokens of the query, or of the names added or removed")
+    public int tokens;
+
+    @Label("Results")
+    @Description("Employees found, or indexed after the operation")
+    public int results;
+}
@@ -0,0 +1,34 @@
+package com.reliaquest.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A read, reload or write-through of the roster cache. Reloads include the upstream fetch and every listener (name
+ * index, salary statistics) brought up to date with the new roster.
+ */
+@Name("com.reliaquest.api.RosterCache")
+@Label("Roster Cache")
+@Category({"Employee API", "Cache"})
+@Description("Operation on the locally cached roster")
+@StackTrace(false)
+public class RosterCacheEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Outcome")
+    @Description("hit, loaded, not-modified, stale, changed or unchanged")
+    public String outcome;
+
+    @Label("Version")
+    @Description("Version of the roster served or published, 0 when none")
+    public long version;
+
+    @Label("Employees")
+    public int employees;
+}
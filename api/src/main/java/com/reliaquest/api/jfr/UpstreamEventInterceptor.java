@@ -0,0 +1,83 @@
+package com.reliaquest.api.jfr;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Counts request and response body bytes into the {@link UpstreamExchangeEvent} tracked on the calling thread. Without
+ * a recording nothing is tracked and responses pass through untouched.
+ */
+public class UpstreamEventInterceptor implements ClientHttpRequestInterceptor {
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        UpstreamExchangeEvent event = UpstreamExchangeEvent.current();
+        ClientHttpResponse response = execution.execute(request, body);
+        if (event == null) {
+            return response;
+        }
+        event.requestBytes += body.length;
+        return new CountingResponse(response, event);
+    }
+
+    private record CountingResponse(ClientHttpResponse response, UpstreamExchangeEvent event)
+            implements ClientHttpResponse {
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return response.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return response.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return response.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() throws IOException {
+            return new FilterInputStream(response.getBody()) {
+                // without mark, a peek at the body is pushed back instead of read twice
+                @Override
+                public boolean markSupported() {
+                    return false;
+                }
+
+                @Override
+                public int read() throws IOException {
+                    int read = super.read();
+                    if (read >= 0) {
+                        event.responseBytes++;
+                    }
+                    return read;
+                }
+
+                @Override
+                public int read(byte[] bytes, int offset, int length) throws IOException {
+                    int read = super.read(bytes, offset, length);
+                    if (read > 0) {
+                        event.responseBytes += read;
+                    }
+                    return read;
+                }
+            };
+        }
+
+        @Override
+        public void close() {
+            response.close();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.reliaquest.api.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * One request to the mock employee API, from sending it to decoding its body. While recording, the event is
+ * {@linkplain #track tracked} on the calling thread so that {@link UpstreamEventInterceptor} can count the bytes
+ * actually read off the wire, which the Content-Length of a chunked or compressed response doesn't tell.
+ */
+@Name("com.reliaquest.api.UpstreamExchange")
+@Label("Upstream Exchange")
+@Category({"Employee API", "Upstream"})
+@Description("Request to the mock employee API")
+@StackTrace(false)
+public class UpstreamExchangeEvent extends Event {
+
+    private static final ThreadLocal<UpstreamExchangeEvent> CURRENT = new ThreadLocal<>();
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Method")
+    public String method;
+
+    @Label("URL Template")
+    public String urlTemplate;
+
+    @Label("URL")
+    public String url;
+
+    @Label("Status")
+    @Description("HTTP status, 0 when no response arrived")
+    public int status;
+
+    @Label("Request Bytes")
+    @DataAmount
+    public long requestBytes;
+
+    @Label("Response Bytes")
+    @DataAmount
+    public long responseBytes;
+
+    // the event of the exchange running on this thread, if it is being recorded
+    static UpstreamExchangeEvent current() {
+        return CURRENT.get();
+    }
+
+    // begins the event and, when recording, makes it current for this thread until untrack
+    public void track() {
+        begin();
+        if (isEnabled()) {
+            CURRENT.set(this);
+        }
+    }
+
+    public void untrack() {
+        if (isEnabled()) {
+            CURRENT.remove();
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.reliaquest.api.memo;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Results of upstream reads memoized for the rest of one inbound request, so that operations composed of several
+ * service calls (such as the employee summary) fetch each upstream resource once and see one consistent version of
+ * it. {@link RequestMemoFilter} opens a memo around every {@code /api/**} request; without an open memo every load
+ * simply runs. Writes {@link #clear() clear} the memo, since they change what a load would return.
+ */
+public final class RequestMemo {
+
+    private static final ThreadLocal<RequestMemo> CURRENT = new ThreadLocal<>();
+    private static final Object NULL = new Object();
+
+    private final Map<Object, Object> values = new HashMap<>();
+
+    private RequestMemo() {}
+
+    // opens a memo on this thread; false when one is open already, which then stays the one in use
+    public static boolean open() {
+        if (CURRENT.get() != null) {
+            return false;
+        }
+        CURRENT.set(new RequestMemo());
+        return true;
+    }
+
+    public static void close() {
+        CURRENT.remove();
+    }
+
+    // runs body with a memo open, the thread's current one if there is one
+    public static <T> T within(Supplier<T> body) {
+        boolean opened = open();
+        try {
+            return body.get();
+        } finally {
+            if (opened) {
+                close();
+            }
+        }
+    }
+
+    // the value memoized for key, loading it first if needed; a null result is memoized as well
+    @SuppressWarnings("unchecked")
+    public static <T> T get(Object key, Supplier<T> loader) {
+        RequestMemo memo = CURRENT.get();
+        if (memo == null) {
+            return loader.get();
+        }
+        Object value = memo.values.get(key);
+        if (value == null) {
+            T loaded = loader.get();
+            memo.values.put(key, loaded == null ? NULL : loaded);
+            return loaded;
+        }
+        return value == NULL ? null : (T) value;
+    }
+
+    public static void clear() {
+        RequestMemo memo = CURRENT.get();
+        if (memo != null) {
+            memo.values.clear();
+        }
+    }
+}
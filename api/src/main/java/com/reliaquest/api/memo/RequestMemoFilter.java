@@ -0,0 +1,35 @@
+package com.reliaquest.api.memo;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+// scopes a RequestMemo to each /api/** request
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 30)
+public class RequestMemoFilter extends OncePerRequestFilter {
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean opened = RequestMemo.open();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (opened) {
+                RequestMemo.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,318 @@
+package com.reliaquest.api.search;
+
+import com.reliaquest.api.cache.Roster;
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.cache.RosterListener;
+import com.reliaquest.api.dto.response.EmployeeResponse;
+import com.reliaquest.api.jfr.NameIndexEvent;
+import java.text.Normalizer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fuzzy name index over the cached roster: a BK-tree of folded name tokens (lower case, accents stripped), so a query
+ * only computes edit distances against the part of the tree the triangle inequality can't rule out. Each query token
+ * must match some token of a name within the allowed edits; names are ranked by the summed distances.
+ *
+ * <p>Kept in step with the roster like {@link com.reliaquest.api.stats.SalaryStatistics}: a loaded roster builds a new
+ * tree, creates and deletes update the current one. Nodes hold employee ids only; matches are read back from the roster.
+ */
+@Component
+public class NameIndex implements RosterListener {
+
+    public static final int MAX_EDITS = 3;
+
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern TOKEN_SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // swapped whole on load, mutated under the write lock otherwise
+    private final AtomicReference<BkTree> tree = new AtomicReference<>(new BkTree(null));
+
+    public NameIndex(RosterCache rosterCache) {
+        rosterCache.addListener(this);
+    }
+
+    @Override
+    public void onLoaded(Roster roster) {
+        NameIndexEvent event = new NameIndexEvent();
+        event.begin();
+        BkTree rebuilt = new BkTree(roster);
+        roster.getEmployees().forEach(rebuilt::add);
+        lock.writeLock().lock();
+        try {
+            tree.set(rebuilt);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        record(event, "rebuild", 0, 0, roster.size());
+    }
+
+    @Override
+    public void onAdded(Roster roster, EmployeeResponse employee) {
+        NameIndexEvent event = new NameIndexEvent();
+        event.begin();
+        lock.writeLock().lock();
+        try {
+            tree.get().roster = roster;
+            tree.get().add(employee);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        // names are only tokenized again while recording
+        record(event, "add", 0, event.isEnabled() ? tokens(employee.getName()).size() : 0, roster.size());
+    }
+
+    @Override
+    public void onRemoved(Roster roster, EmployeeResponse employee) {
+        NameIndexEvent event = new NameIndexEvent();
+        event.begin();
+        lock.writeLock().lock();
+        try {
+            tree.get().roster = roster;
+            tree.get().remove(employee);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        record(
+                event,
+                "remove",
+                0,
+                event.isEnabled() ? tokens(employee.getName()).size() : 0,
+                roster.size());
+    }
+
+    /**
+     * Employees whose name matches every token of {@code query} within {@code maxEdits} edits each, closest first.
+     * Short tokens get fewer edits (half their length, rounded down), so two letters don't match every name.
+     */
+    public List<EmployeeResponse> search(String query, int maxEdits) {
+        if (maxEdits < 0 || maxEdits > MAX_EDITS) {
+            throw new IllegalArgumentException("maxEdits must be between 0 and " + MAX_EDITS);
+        }
+        NameIndexEvent event = new NameIndexEvent();
+        event.begin();
+        List<String> tokens = tokens(query);
+        List<EmployeeResponse> found = tokens.isEmpty() ? List.of() : find(tokens, maxEdits);
+        record(event, "search", maxEdits, tokens.size(), found.size());
+        return found;
+    }
+
+    private List<EmployeeResponse> find(List<String> tokens, int maxEdits) {
+        Map<String, Integer> candidates = null;
+        Map<EmployeeResponse, Integer> ranked = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            BkTree current = tree.get();
+            for (String token : tokens) {
+                Map<String, Integer> matches = new HashMap<>();
+                current.search(
+                        token,
+                        Math.min(maxEdits, token.length() / 2),
+                        (id, distance) -> matches.merge(id, distance, Math::min));
+                if (candidates == null) {
+                    candidates = matches;
+                } else {
+                    Map<String, Integer> previous = candidates;
+                    matches.replaceAll((id, distance) -> previous.containsKey(id) ? distance + previous.get(id) : -1);
+                    matches.values().removeIf(distance -> distance < 0);
+                    candidates = matches;
+                }
+                if (candidates.isEmpty()) {
+                    return List.of();
+                }
+            }
+            // only the matches are materialized from the roster
+            candidates.forEach((id, distance) -> {
+                EmployeeResponse employee = current.roster.getEmployee(id);
+                if (employee != null) {
+                    ranked.put(employee, distance);
+                }
+            });
+        } finally {
+            lock.readLock().unlock();
+        }
+        return ranked.entrySet().stream()
+                .sorted(Map.Entry.<EmployeeResponse, Integer>comparingByValue()
+                        .thenComparing(entry -> entry.getKey().getName(), Comparator.nullsLast(String::compareTo)))
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    // commits the event if JFR records it
+    private static void record(NameIndexEvent event, String operation, int maxEdits, int tokens, int results) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.operation = operation;
+            event.maxEdits = maxEdits;
+            event.tokens = tokens;
+            event.results = results;
+            event.commit();
+        }
+    }
+
+    static String fold(String name) {
+        String decomposed = Normalizer.normalize(name, Normalizer.Form.NFD);
+        return COMBINING_MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    // folded words of a name, each once
+    public static List<String> tokens(String name) {
+        if (name == null) {
+            return List.of();
+        }
+        return Arrays.stream(TOKEN_SEPARATORS.split(fold(name)))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    // Levenshtein distance with two rolling rows
+    public static int distance(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            char ca = a.charAt(i - 1);
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (ca == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    interface Hit {
+        void accept(String id, int distance);
+    }
+
+    /*
+     * Tokens in a BK-tree: every child hangs off its parent at the edit distance between the two, so a search within k
+     * edits of a query at distance d from a node only needs to visit the children at d-k..d+k.
+     */
+    static class BkTree {
+
+        private Node root;
+        // resolves the ids held by the nodes
+        private Roster roster;
+
+        BkTree(Roster roster) {
+            this.roster = roster;
+        }
+
+        void add(EmployeeResponse employee) {
+            if (employee.getId() == null) {
+                return;
+            }
+            for (String token : tokens(employee.getName())) {
+                node(token).ids.add(employee.getId());
+            }
+        }
+
+        void remove(EmployeeResponse employee) {
+            if (employee.getId() == null) {
+                return;
+            }
+            for (String token : tokens(employee.getName())) {
+                Node node = root;
+                while (node != null) {
+                    int distance = distance(token, node.term);
+                    if (distance == 0) {
+                        // the node stays as a routing point even when no employee uses its token anymore
+                        node.ids.remove(employee.getId());
+                        break;
+                    }
+                    node = node.child(distance);
+                }
+            }
+        }
+
+        void search(String token, int maxEdits, Hit hit) {
+            if (root == null) {
+                return;
+            }
+            Deque<Node> pending = new ArrayDeque<>();
+            pending.push(root);
+            while (!pending.isEmpty()) {
+                Node node = pending.pop();
+                int distance = distance(token, node.term);
+                if (distance <= maxEdits) {
+                    for (String id : node.ids) {
+                        hit.accept(id, distance);
+                    }
+                }
+                int to = Math.min(distance + maxEdits, node.children.length - 1);
+                for (int d = Math.max(1, distance - maxEdits); d <= to; d++) {
+                    if (node.children[d] != null) {
+                        pending.push(node.children[d]);
+                    }
+                }
+            }
+        }
+
+        private Node node(String token) {
+            if (root == null) {
+                root = new Node(token);
+                return root;
+            }
+            Node node = root;
+            while (true) {
+                int distance = distance(token, node.term);
+                if (distance == 0) {
+                    return node;
+                }
+                Node child = node.child(distance);
+                if (child == null) {
+                    child = new Node(token);
+                    node.setChild(distance, child);
+                    return child;
+                }
+                node = child;
+            }
+        }
+    }
+
+    private static class Node {
+
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        final String term;
+        // of the employees with a name containing the term
+        final List<String> ids = new ArrayList<>(1);
+        // indexed by edit distance to term
+        Node[] children = NO_CHILDREN;
+
+        Node(String term) {
+            this.term = term;
+        }
+
+        Node child(int distance) {
+            return distance < children.length ? children[distance] : null;
+        }
+
+        void setChild(int distance, Node child) {
+            if (distance >= children.length) {
+                children = Arrays.copyOf(children, distance + 1);
+            }
+            children[distance] = child;
+        }
+    }
+}
@@ -1,21 +1,53 @@
 package com.reliaquest.api.service;
 
 import com.reliaquest.api.dto.request.CreateEmployeeRequest;
+import com.reliaquest.api.dto.response.EmployeeField;
+import com.reliaquest.api.dto.response.EmployeeLookupResult;
 import com.reliaquest.api.dto.response.EmployeeResponse;
+import com.reliaquest.api.dto.response.EmployeeSummaryResponse;
+import com.reliaquest.api.dto.response.SalaryStatsResponse;
 import java.util.List;
+import java.util.Set;
 
 public interface EmployeeService {
     List<EmployeeResponse> getAllEmployees();
 
     List<EmployeeResponse> getEmployeesByNameSearch(String searchString);
 
+    // employees whose name is within maxEdits edits per word of searchString, closest first
+    List<EmployeeResponse> getEmployeesByFuzzyNameSearch(String searchString, int maxEdits);
+
+    // employees whose name contains searchString (all when blank), with at least the given fields populated
+    List<EmployeeResponse> getEmployees(String searchString, Set<EmployeeField> fields);
+
     EmployeeResponse getEmployeeById(String id);
 
+    // one result per id, in the same order, marking ids that don't exist
+    List<EmployeeLookupResult> getEmployeesByIds(List<String> ids);
+
     Integer getHighestSalaryOfEmployees();
 
     List<String> getTopTenHighestEarningEmployeeNames();
 
+    // highest salary, top ten and the employees whose name contains searchString, from a single roster read
+    EmployeeSummaryResponse getEmployeeSummary(String searchString);
+
+    // salary percentiles, average and per-title breakdown of the current roster
+    SalaryStatsResponse getSalaryStatistics();
+
     EmployeeResponse createEmployee(CreateEmployeeRequest createEmployeeRequest);
 
+    // createEmployee at most once per idempotency key; retries get the original result
+    EmployeeResponse createEmployee(CreateEmployeeRequest createEmployeeRequest, String idempotencyKey);
+
+    // creates all of them with a single upstream request, returning the employees in the same order
+    List<EmployeeResponse> createEmployees(List<CreateEmployeeRequest> createEmployeeRequests);
+
+    // createEmployees sent with an idempotency key, so upstream creates the batch at most once however often it is sent
+    List<EmployeeResponse> createEmployees(List<CreateEmployeeRequest> createEmployeeRequests, String idempotencyKey);
+
     String deleteEmployeeById(String id);
+
+    // reload the roster from upstream, replacing the locally cached copy
+    void refreshRoster();
 }
@@ -1,48 +1,213 @@
 package com.reliaquest.api.service.Impl;
 
+import com.reliaquest.api.cache.EmployeeTable;
+import com.reliaquest.api.cache.Roster;
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.dto.request.CreateEmployeeBatchRequest;
 import com.reliaquest.api.dto.request.CreateEmployeeRequest;
 import com.reliaquest.api.dto.request.DeleteEmployeeRequest;
 import com.reliaquest.api.dto.response.ApiResponse;
+import com.reliaquest.api.dto.response.EmployeeField;
+import com.reliaquest.api.dto.response.EmployeeLookupResult;
 import com.reliaquest.api.dto.response.EmployeeResponse;
+import com.reliaquest.api.dto.response.EmployeeSummaryResponse;
+import com.reliaquest.api.dto.response.SalaryStatsResponse;
 import com.reliaquest.api.exception.EmployeeServiceException;
+import com.reliaquest.api.jfr.UpstreamExchangeEvent;
+import com.reliaquest.api.memo.RequestMemo;
+import com.reliaquest.api.search.NameIndex;
 import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.stats.SalaryStatistics;
+import com.reliaquest.api.timing.RequestTimings;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 import org.springframework.web.client.*;
+import org.springframework.web.util.UriComponentsBuilder;
 
 @Slf4j
 @Service("EmployeeServiceImpl")
 @RequiredArgsConstructor
 public class EmployeeServiceImpl implements EmployeeService {
 
+    public static final String UPSTREAM_REQUESTS_METRIC = "upstream.requests";
+
+    private static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    private static final Set<EmployeeField> ALL_FIELDS =
+            Collections.unmodifiableSet(EnumSet.allOf(EmployeeField.class));
+
+    // request memo key of the roster; an employee's owning shard and record are memoized under Located
+    private static final Object ROSTER = new Object();
+
+    private static final Comparator<EmployeeResponse> BY_SALARY_DESCENDING =
+            Comparator.comparing(EmployeeResponse::getSalary).reversed();
+
     @Value("${mock.api.base-url}")
     private String mockApiBaseUrl;
 
+    // misses of a bulk lookup fetched concurrently; at roster-threshold misses or more, the roster is fetched instead
+    @Value("${mock.api.bulk.parallelism:4}")
+    private int bulkParallelism = 4;
+
+    @Value("${mock.api.bulk.roster-threshold:8}")
+    private int bulkRosterThreshold = 8;
+
+    @Value("${mock.api.bulk.max-ids:1000}")
+    private int bulkMaxIds = 1000;
+
+    // base urls of mock servers each holding a partition of the roster; empty means base-url alone
+    @Value("${mock.api.shards:}")
+    private List<String> shardBaseUrls;
+
     private final RestTemplate restTemplate;
 
+    private final MeterRegistry meterRegistry;
+
+    private final Executor upstreamExecutor;
+
+    // runs bulk lookup workers, which wait on upstreamExecutor and so must not run on it
+    private final Executor bulkLookupExecutor;
+
+    private final LookupHedger lookupHedger;
+
+    private final RosterCache rosterCache;
+
+    private final SalaryStatistics salaryStatistics;
+
+    private final UpstreamBudget upstreamBudget;
+
+    private final NameIndex nameIndex;
+
+    private final IdempotencyStore idempotencyStore;
+
+    private final RosterReducer rosterReducer;
+
+    private final AtomicInteger nextCreateShard = new AtomicInteger();
+
+    /**
+     * Instance detached from the application context: single upstream, no hedging and no roster caching, so every call
+     * goes through {@code restTemplate}. Used to exercise the service against a synthetic upstream.
+     */
+    public static EmployeeServiceImpl standalone(String baseUrl, RestTemplate restTemplate) {
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RosterCache rosterCache = new RosterCache(Duration.ZERO, meterRegistry);
+        EmployeeServiceImpl service = new EmployeeServiceImpl(
+                restTemplate,
+                meterRegistry,
+                Runnable::run,
+                Runnable::run,
+                LookupHedger.disabled(meterRegistry),
+                rosterCache,
+                new SalaryStatistics(rosterCache, 0.01),
+                new UpstreamBudget(Duration.ofMinutes(1), Integer.MAX_VALUE, 0, Clock.systemUTC()),
+                new NameIndex(rosterCache),
+                new IdempotencyStore(Duration.ofHours(1), 10_000, Clock.systemUTC()),
+                RosterReducer.sequential());
+        service.mockApiBaseUrl = baseUrl;
+        return service;
+    }
+
     // get list of all employees
     @Override
     public List<EmployeeResponse> getAllEmployees() {
+        return roster().getEmployees();
+    }
+
+    @Override
+    public void refreshRoster() {
+        RequestMemo.clear();
+        rosterCache.revalidate(this::changedPartitions);
+    }
+
+    /*
+     * The cached roster while fresh, otherwise the revalidated one; the same one for the rest of the request. A stale
+     * roster, e.g. one restored from a snapshot, is thus confirmed with its ETags rather than fetched again in full.
+     */
+    private Roster roster() {
+        return RequestMemo.get(ROSTER, () -> rosterCache.getOrRevalidate(this::changedPartitions));
+    }
+
+    /*
+     * Revalidates every shard with the ETag of its cached partition. Shards answering 304 keep that partition, and when
+     * all of them do the result is empty: the cached roster simply counts as fresh again.
+     */
+    private Optional<List<List<EmployeeResponse>>> changedPartitions(Roster cached) {
+        List<String> shards = shards();
+        boolean conditional = cached != null && cached.getPartitions().size() == shards.size();
+        List<List<EmployeeResponse>> fetched = fanOut(
+                shards, shard -> fetchEmployees(shard, ALL_FIELDS, conditional ? rosterCache.eTag(shard) : null));
+        if (fetched.stream().allMatch(Objects::isNull)) {
+            return Optional.empty();
+        }
+        List<List<EmployeeResponse>> partitions = new ArrayList<>(shards.size());
+        for (int i = 0; i < shards.size(); i++) {
+            partitions.add(
+                    fetched.get(i) != null
+                            ? fetched.get(i)
+                            : cached.getPartitions().get(i));
+        }
+        return Optional.of(partitions);
+    }
+
+    // employees of one shard with the given fields; null when eTag is given and still matches (304)
+    private List<EmployeeResponse> fetchEmployees(String baseUrl, Set<EmployeeField> fields, String eTag) {
         try {
-            ResponseEntity<ApiResponse<EmployeeResponse[]>> response = restTemplate.exchange(
-                    mockApiBaseUrl,
+            boolean full = fields.size() == ALL_FIELDS.size();
+            String url = full
+                    ? baseUrl
+                    : UriComponentsBuilder.fromHttpUrl(baseUrl)
+                            .queryParam("fields", EmployeeField.join(fields))
+                            .toUriString();
+            HttpEntity<Void> requestEntity = null;
+            if (eTag != null) {
+                HttpHeaders headers = new HttpHeaders();
+                headers.setIfNoneMatch(eTag);
+                requestEntity = new HttpEntity<>(headers);
+            }
+            ResponseEntity<ApiResponse<EmployeeResponse[]>> response = exchange(
+                    "getAllEmployees",
+                    full ? "{shard}" : "{shard}?fields={fields}",
+                    url,
                     HttpMethod.GET,
-                    null,
+                    requestEntity,
                     new ParameterizedTypeReference<ApiResponse<EmployeeResponse[]>>() {});
+            if (response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                return null;
+            }
             if (response.getStatusCode().is2xxSuccessful()
                     && response.getBody() != null
                     && response.getBody().getData() != null) {
-                return Arrays.asList(response.getBody().getData());
+                List<EmployeeResponse> employees =
+                        Arrays.asList(response.getBody().getData());
+                if (full && response.getHeaders().getETag() != null) {
+                    rosterCache.recordETag(baseUrl, response.getHeaders().getETag());
+                }
+                return employees;
             }
             return Collections.emptyList();
         } catch (HttpClientErrorException | HttpServerErrorException | ResourceAccessException ex) {
@@ -51,26 +216,196 @@ public class EmployeeServiceImpl implements EmployeeService {
         }
     }
 
-    // all employees whose name contains or matches the input string
+    // all employees whose name contains or matches the input string; only the matches are materialized
     @Override
     public List<EmployeeResponse> getEmployeesByNameSearch(String searchString) {
         if (!StringUtils.hasText(searchString)) {
             return Collections.emptyList();
         }
-        List<EmployeeResponse> allEmployees = getAllEmployees();
-        return allEmployees.stream()
-                .filter(employee -> employee.getName() != null
-                        && employee.getName().toLowerCase().contains(searchString.toLowerCase()))
-                .collect(Collectors.toList());
+        String fragment = searchString.toLowerCase();
+        List<EmployeeResponse> matches = new ArrayList<>();
+        for (EmployeeTable table : roster().getTables()) {
+            for (int row : rosterReducer.rowsWithNameContaining(table, fragment)) {
+                matches.add(table.get(row));
+            }
+        }
+        return matches;
+    }
+
+    // maintained incrementally by NameIndex; ranked by edit distance, then name
+    @Override
+    public List<EmployeeResponse> getEmployeesByFuzzyNameSearch(String searchString, int maxEdits) {
+        if (!StringUtils.hasText(searchString)) {
+            return Collections.emptyList();
+        }
+        roster();
+        return nameIndex.search(searchString, maxEdits);
+    }
+
+    /*
+     * Served from the roster while it is fresh or when every field is wanted anyway; the matching rows are selected on
+     * the tables and only materialized as the projection is written. Otherwise only the wanted fields (plus the name,
+     * to search on) are fetched upstream, which keeps the payload small but leaves the roster cache as it is. That
+     * fetch is uncached, so it is only made while the upstream budget has a request left per shard; past that the
+     * stale roster is revalidated instead.
+     */
+    @Override
+    public List<EmployeeResponse> getEmployees(String searchString, Set<EmployeeField> fields) {
+        boolean search = StringUtils.hasText(searchString);
+        Set<EmployeeField> upstreamFields = EnumSet.copyOf(fields);
+        if (search) {
+            upstreamFields.add(EmployeeField.NAME);
+        }
+        Roster roster = rosterCache.fresh().orElse(null);
+        if (roster == null && upstreamFields.size() < ALL_FIELDS.size()) {
+            List<String> shards = shards();
+            if (upstreamBudget.remaining() >= shards.size()) {
+                Predicate<EmployeeResponse> matches = search ? nameContains(searchString) : employee -> true;
+                return fanOut(shards, baseUrl -> fetchEmployees(baseUrl, upstreamFields, null)).stream()
+                        .flatMap(List::stream)
+                        .filter(matches)
+                        .toList();
+            }
+        }
+        if (roster == null) {
+            roster = roster();
+        }
+        if (!search) {
+            return roster.getEmployees();
+        }
+        String fragment = searchString.toLowerCase();
+        return roster.select(roster.getTables().stream()
+                .map(table -> rosterReducer.rowsWithNameContaining(table, fragment))
+                .toList());
+    }
+
+    private static Predicate<EmployeeResponse> nameContains(String searchString) {
+        String fragment = searchString.toLowerCase();
+        return employee ->
+                employee.getName() != null && employee.getName().toLowerCase().contains(fragment);
     }
 
     // get a single employee by id
     @Override
     public EmployeeResponse getEmployeeById(String id) {
+        EmployeeResponse cached =
+                rosterCache.fresh().map(roster -> roster.getEmployee(id)).orElse(null);
+        if (cached != null) {
+            return cached;
+        }
+        Map.Entry<String, EmployeeResponse> located = locateEmployee(id);
+        return located != null ? located.getValue() : null;
+    }
+
+    /*
+     * Hits come from the fresh roster. A few misses are looked up one by one, at most bulk-parallelism at a time; many
+     * misses cost one (conditional) roster fetch instead, after which whatever is still missing doesn't exist.
+     */
+    @Override
+    public List<EmployeeLookupResult> getEmployeesByIds(List<String> ids) {
+        if (ids.size() > bulkMaxIds) {
+            throw new IllegalArgumentException("At most " + bulkMaxIds + " ids per lookup");
+        }
+        Map<String, EmployeeResponse> found = new HashMap<>();
+        rosterCache
+                .fresh()
+                .ifPresent(roster -> ids.forEach(id -> {
+                    EmployeeResponse employee = roster.getEmployee(id);
+                    if (employee != null) {
+                        found.put(id, employee);
+                    }
+                }));
+        List<String> misses =
+                ids.stream().filter(id -> !found.containsKey(id)).distinct().toList();
+
+        if (misses.size() >= bulkRosterThreshold) {
+            if (rosterCache.current().isPresent()) {
+                refreshRoster();
+            }
+            Roster roster = roster();
+            misses.forEach(id -> found.put(id, roster.getEmployee(id)));
+        } else if (!misses.isEmpty()) {
+            found.putAll(lookUpEach(misses));
+        }
+        return ids.stream()
+                .map(id -> EmployeeLookupResult.of(id, found.get(id)))
+                .collect(Collectors.toList());
+    }
+
+    // getEmployeeById for every id, with at most bulk-parallelism lookups running at once
+    private Map<String, EmployeeResponse> lookUpEach(List<String> ids) {
+        Map<String, EmployeeResponse> found = new ConcurrentHashMap<>();
+        Queue<String> pending = new ConcurrentLinkedQueue<>(ids);
+        Runnable worker = () -> {
+            for (String id = pending.poll(); id != null; id = pending.poll()) {
+                EmployeeResponse employee = getEmployeeById(id);
+                if (employee != null) {
+                    found.put(id, employee);
+                }
+            }
+        };
+        int workers = Math.max(1, Math.min(bulkParallelism, ids.size()));
+        List<CompletableFuture<Void>> running = new ArrayList<>(workers);
+        for (int i = 1; i < workers; i++) {
+            running.add(CompletableFuture.runAsync(worker, bulkLookupExecutor));
+        }
+        // the calling thread works too instead of just waiting
+        worker.run();
+        long timing = RequestTimings.start();
         try {
-            String url = mockApiBaseUrl + "/" + id;
-            ResponseEntity<ApiResponse<EmployeeResponse>> response = restTemplate.exchange(
-                    url, HttpMethod.GET, null, new ParameterizedTypeReference<ApiResponse<EmployeeResponse>>() {});
+            running.forEach(CompletableFuture::join);
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        } finally {
+            RequestTimings.stop(RequestTimings.Phase.UPSTREAM, timing);
+        }
+        return found;
+    }
+
+    /*
+     * Asks the shard whose partition of the cached roster (stale or not) holds the id, or else its hash shard, and only
+     * then the remaining shards in parallel. The mock server assigns ids itself, so the hash shard is a guess that
+     * holds for hash-partitioned rosters. The first ask may be hedged onto a replica when hedging is enabled.
+     */
+    private Map.Entry<String, EmployeeResponse> locateEmployee(String id) {
+        return RequestMemo.get(new Located(id), () -> locateUpstream(id));
+    }
+
+    private Map.Entry<String, EmployeeResponse> locateUpstream(String id) {
+        List<String> shards = shards();
+        String knownOwner = knownOwner(id, shards);
+        String owner = knownOwner != null ? knownOwner : shards.get(shardIndex(id, shards.size()));
+        EmployeeResponse employee = lookupHedger.call(owner, baseUrl -> getEmployeeById(baseUrl, id));
+        if (employee != null) {
+            return Map.entry(owner, employee);
+        }
+        if (shards.size() == 1 || knownOwner != null) {
+            return null;
+        }
+        List<String> others =
+                shards.stream().filter(shard -> !shard.equals(owner)).toList();
+        List<EmployeeResponse> found = fanOut(others, shard -> getEmployeeById(shard, id));
+        for (int i = 0; i < others.size(); i++) {
+            if (found.get(i) != null) {
+                return Map.entry(others.get(i), found.get(i));
+            }
+        }
+        return null;
+    }
+
+    private EmployeeResponse getEmployeeById(String baseUrl, String id) {
+        try {
+            String url = baseUrl + "/" + id;
+            ResponseEntity<ApiResponse<EmployeeResponse>> response = exchange(
+                    "getEmployeeById",
+                    "{shard}/{id}",
+                    url,
+                    HttpMethod.GET,
+                    null,
+                    new ParameterizedTypeReference<ApiResponse<EmployeeResponse>>() {});
 
             if (response.getStatusCode().is2xxSuccessful()
                     && response.getBody() != null
@@ -90,44 +425,91 @@ public class EmployeeServiceImpl implements EmployeeService {
         }
     }
 
-    // highest salary of amongst all employees
+    // highest salary of amongst all employees, read from the salary columns
     @Override
     public Integer getHighestSalaryOfEmployees() {
-        List<EmployeeResponse> allEmployees = getAllEmployees();
-
-        return allEmployees.stream()
-                .map(EmployeeResponse::getSalary)
-                .filter(Objects::nonNull)
-                .max(Integer::compareTo)
-                .orElse(0);
+        int highest = 0;
+        for (EmployeeTable table : roster().getTables()) {
+            highest = Math.max(highest, rosterReducer.maxSalary(table));
+        }
+        return highest;
     }
 
-    // list of the top 10 employees based on salary
+    // list of the top 10 employees based on salary; only the ten winners per partition are materialized
     @Override
     public List<String> getTopTenHighestEarningEmployeeNames() {
-        List<EmployeeResponse> allEmployees = getAllEmployees();
-
-        return allEmployees.stream()
-                .filter(employee -> employee.getName() != null && employee.getSalary() != null)
-                .sorted(Comparator.comparing(EmployeeResponse::getSalary).reversed())
-                .limit(10)
+        List<List<EmployeeResponse>> shardTopTens = roster().getTables().stream()
+                .map(table -> Arrays.stream(rosterReducer.topSalaryRows(table, 10))
+                        .mapToObj(table::get)
+                        .collect(Collectors.toList()))
+                .toList();
+        return mergeTopN(shardTopTens, 10).stream()
                 .map(EmployeeResponse::getName)
                 .collect(Collectors.toList());
     }
 
+    // highest salary, top ten and name search together, all computed from the one roster this request reads
+    @Override
+    public EmployeeSummaryResponse getEmployeeSummary(String searchString) {
+        return RequestMemo.within(() -> EmployeeSummaryResponse.builder()
+                .rosterVersion(roster().getVersion())
+                .highestSalary(getHighestSalaryOfEmployees())
+                .topTenHighestEarningEmployeeNames(getTopTenHighestEarningEmployeeNames())
+                .searchResults(getEmployeesByNameSearch(searchString))
+                .build());
+    }
+
+    // maintained incrementally by SalaryStatistics; only loads the roster when none is cached or it went stale
+    @Override
+    public SalaryStatsResponse getSalaryStatistics() {
+        roster();
+        return salaryStatistics.current().orElse(null);
+    }
+
+    // k-way merge of per-shard lists that are each already sorted by salary, highest first
+    private static List<EmployeeResponse> mergeTopN(List<List<EmployeeResponse>> sortedLists, int limit) {
+        if (sortedLists.size() == 1) {
+            return sortedLists.get(0);
+        }
+        PriorityQueue<Map.Entry<EmployeeResponse, Iterator<EmployeeResponse>>> heads =
+                new PriorityQueue<>(Map.Entry.comparingByKey(BY_SALARY_DESCENDING));
+        for (List<EmployeeResponse> sorted : sortedLists) {
+            Iterator<EmployeeResponse> iterator = sorted.iterator();
+            if (iterator.hasNext()) {
+                heads.add(new AbstractMap.SimpleEntry<>(iterator.next(), iterator));
+            }
+        }
+        List<EmployeeResponse> merged = new ArrayList<>(limit);
+        while (merged.size() < limit && !heads.isEmpty()) {
+            Map.Entry<EmployeeResponse, Iterator<EmployeeResponse>> head = heads.poll();
+            merged.add(head.getKey());
+            if (head.getValue().hasNext()) {
+                heads.add(new AbstractMap.SimpleEntry<>(head.getValue().next(), head.getValue()));
+            }
+        }
+        return merged;
+    }
+
     // create a employee
     @Override
     public EmployeeResponse createEmployee(CreateEmployeeRequest createEmployeeRequest) {
         try {
             HttpEntity<CreateEmployeeRequest> requestEntity = new HttpEntity<>(createEmployeeRequest);
-            ResponseEntity<ApiResponse<EmployeeResponse>> response = restTemplate.exchange(
-                    mockApiBaseUrl,
+            // ids are assigned upstream, so new employees are spread round-robin and land in their shard's partition
+            List<String> shards = shards();
+            String baseUrl = shards.get(Math.floorMod(nextCreateShard.getAndIncrement(), shards.size()));
+            ResponseEntity<ApiResponse<EmployeeResponse>> response = exchange(
+                    "createEmployee",
+                    "{shard}",
+                    baseUrl,
                     HttpMethod.POST,
                     requestEntity,
                     new ParameterizedTypeReference<ApiResponse<EmployeeResponse>>() {});
             if (response.getStatusCode().is2xxSuccessful()
                     && response.getBody() != null
                     && response.getBody().getData() != null) {
+                rosterCache.add(shards.indexOf(baseUrl), response.getBody().getData());
+                RequestMemo.clear();
                 return response.getBody().getData();
             }
             return null;
@@ -137,26 +519,82 @@ public class EmployeeServiceImpl implements EmployeeService {
         }
     }
 
+    // replays of a key, even while its first create is still in flight, cost no upstream request
+    @Override
+    public EmployeeResponse createEmployee(CreateEmployeeRequest createEmployeeRequest, String idempotencyKey) {
+        return idempotencyStore.createOnce(
+                idempotencyKey, createEmployeeRequest, () -> createEmployee(createEmployeeRequest));
+    }
+
+    // batch create against one shard, round-robin like single creates; errors surface as EmployeeServiceException
+    @Override
+    public List<EmployeeResponse> createEmployees(List<CreateEmployeeRequest> createEmployeeRequests) {
+        return createEmployees(createEmployeeRequests, null);
+    }
+
+    @Override
+    public List<EmployeeResponse> createEmployees(
+            List<CreateEmployeeRequest> createEmployeeRequests, String idempotencyKey) {
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            if (idempotencyKey != null) {
+                headers.set(IDEMPOTENCY_KEY, idempotencyKey);
+            }
+            HttpEntity<CreateEmployeeBatchRequest> requestEntity =
+                    new HttpEntity<>(new CreateEmployeeBatchRequest(createEmployeeRequests), headers);
+            List<String> shards = shards();
+            // a key only dedupes on the shard that remembers it, so every retry of a batch goes to the same one
+            int shard = idempotencyKey != null ? idempotencyKey.hashCode() : nextCreateShard.getAndIncrement();
+            String baseUrl = shards.get(Math.floorMod(shard, shards.size()));
+            ResponseEntity<ApiResponse<EmployeeResponse[]>> response = exchange(
+                    "createEmployees",
+                    "{shard}/batch",
+                    baseUrl + "/batch",
+                    HttpMethod.POST,
+                    requestEntity,
+                    new ParameterizedTypeReference<ApiResponse<EmployeeResponse[]>>() {});
+            if (response.getBody() == null
+                    || response.getBody().getData() == null
+                    || response.getBody().getData().length != createEmployeeRequests.size()) {
+                throw new EmployeeServiceException("Unexpected response while creating employees");
+            }
+            List<EmployeeResponse> created = Arrays.asList(response.getBody().getData());
+            for (EmployeeResponse employee : created) {
+                rosterCache.add(shards.indexOf(baseUrl), employee);
+            }
+            RequestMemo.clear();
+            return created;
+        } catch (HttpClientErrorException | HttpServerErrorException | ResourceAccessException ex) {
+            handleHttpException("creating employees", ex);
+            return null;
+        }
+    }
+
     // delete a employee by id
     @Override
     public String deleteEmployeeById(String id) {
         try {
-            EmployeeResponse employee = getEmployeeById(id);
-            if (employee == null || employee.getName() == null) {
+            Map.Entry<String, EmployeeResponse> located = locateEmployee(id);
+            if (located == null || located.getValue().getName() == null) {
                 return null;
             }
+            EmployeeResponse employee = located.getValue();
 
             DeleteEmployeeRequest deleteRequest =
                     DeleteEmployeeRequest.builder().name(employee.getName()).build();
             HttpEntity<DeleteEmployeeRequest> request = new HttpEntity<>(deleteRequest);
-            ResponseEntity<ApiResponse<Boolean>> response = restTemplate.exchange(
-                    mockApiBaseUrl,
+            ResponseEntity<ApiResponse<Boolean>> response = exchange(
+                    "deleteEmployee",
+                    "{shard}",
+                    located.getKey(),
                     HttpMethod.DELETE,
                     request,
                     new ParameterizedTypeReference<ApiResponse<Boolean>>() {});
             if (response.getStatusCode().is2xxSuccessful()
                     && response.getBody() != null
                     && Boolean.TRUE.equals(response.getBody().getData())) {
+                rosterCache.remove(id);
+                RequestMemo.clear();
                 return employee.getName();
             }
             return null;
@@ -166,6 +604,111 @@ public class EmployeeServiceImpl implements EmployeeService {
         }
     }
 
+    private List<String> shards() {
+        return shardBaseUrls == null || shardBaseUrls.isEmpty() ? List.of(mockApiBaseUrl) : shardBaseUrls;
+    }
+
+    public static int shardIndex(String id, int shardCount) {
+        return Math.floorMod(id.hashCode(), shardCount);
+    }
+
+    // shard whose partition of the cached roster holds the id; null when there is no such roster or it doesn't
+    private String knownOwner(String id, List<String> shards) {
+        return rosterCache
+                .current()
+                .filter(roster -> roster.getTables().size() == shards.size())
+                .map(roster -> roster.partitionOf(id))
+                .filter(partition -> partition >= 0)
+                .map(shards::get)
+                .orElse(null);
+    }
+
+    private <R> List<R> fanOut(Function<String, R> perShard) {
+        return fanOut(shards(), perShard);
+    }
+
+    // runs perShard against every shard in parallel; results keep shard order
+    private <R> List<R> fanOut(List<String> shards, Function<String, R> perShard) {
+        if (shards.size() == 1) {
+            return Collections.singletonList(perShard.apply(shards.get(0)));
+        }
+        List<CompletableFuture<R>> futures = shards.stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> perShard.apply(shard), upstreamExecutor))
+                .toList();
+        // the shards are asked from other threads, so this request spends the wait upstream
+        long timing = RequestTimings.start();
+        try {
+            return futures.stream().map(CompletableFuture::join).toList();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        } finally {
+            RequestTimings.stop(RequestTimings.Phase.UPSTREAM, timing);
+        }
+    }
+
+    /*
+     * Times every upstream exchange, tagged by operation and resulting status (429 included), and tracks the budget.
+     * While JFR records, each exchange is also an UpstreamExchangeEvent; urlTemplate names it without ids and shards.
+     */
+    private <T> ResponseEntity<T> exchange(
+            String operation,
+            String urlTemplate,
+            String url,
+            HttpMethod method,
+            HttpEntity<?> requestEntity,
+            ParameterizedTypeReference<T> responseType) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        UpstreamExchangeEvent event = new UpstreamExchangeEvent();
+        event.track();
+        long timing = RequestTimings.start();
+        HttpStatusCode status = null;
+        boolean write = method != HttpMethod.GET;
+        if (write) {
+            upstreamBudget.writeStarted();
+        }
+        try {
+            ResponseEntity<T> response = restTemplate.exchange(url, method, requestEntity, responseType);
+            status = response.getStatusCode();
+            return response;
+        } catch (RestClientResponseException ex) {
+            status = ex.getStatusCode();
+            throw ex;
+        } finally {
+            RequestTimings.stopExchange(timing);
+            event.untrack();
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = operation;
+                event.method = method.name();
+                event.urlTemplate = urlTemplate;
+                event.url = url;
+                event.status = status != null ? status.value() : 0;
+                event.commit();
+            }
+            if (write) {
+                upstreamBudget.writeFinished();
+            }
+            upstreamBudget.record(status);
+            sample.stop(Timer.builder(UPSTREAM_REQUESTS_METRIC)
+                    .description("Requests sent to the mock employee API")
+                    .tag("operation", operation)
+                    .tag("status", status != null ? String.valueOf(status.value()) : "IO_ERROR")
+                    .tag("outcome", outcome(status))
+                    .register(meterRegistry));
+        }
+    }
+
+    private static String outcome(HttpStatusCode status) {
+        if (status == null) {
+            return "UNKNOWN";
+        }
+        HttpStatus.Series series = HttpStatus.Series.resolve(status.value());
+        return series != null ? series.name() : "UNKNOWN";
+    }
+
     private void handleHttpException(String operation, Exception ex) {
         if (ex instanceof HttpClientErrorException httpException) {
             if (httpException.getStatusCode() == HttpStatus.TOO_MANY_REQUESTS) {
@@ -182,4 +725,6 @@ public class EmployeeServiceImpl implements EmployeeService {
             throw new EmployeeServiceException("Unable to connect to mock API", ex);
         }
     }
+
+    private record Located(String id) {}
 }
@@ -0,0 +1,155 @@
+package com.reliaquest.api.service.Impl;
+
+import com.reliaquest.api.dto.request.CreateEmployeeRequest;
+import com.reliaquest.api.dto.response.EmployeeResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Results of creates sent with an {@code Idempotency-Key}, so a client retrying a create gets the original employee
+ * instead of a duplicate. A key whose create is still in flight makes the retry wait for that same create. Failed
+ * creates are forgotten, so the next retry tries again. Completed keys are kept for ttl, and at most max-keys of them:
+ * once full the oldest completed key goes first.
+ */
+@Component
+public class IdempotencyStore {
+
+    private final Duration ttl;
+    private final int maxKeys;
+    private final Clock clock;
+    private final Counter created;
+    private final Counter replayed;
+
+    // guarded by itself, in insertion order
+    private final Map<String, Entry> entries = new LinkedHashMap<>();
+
+    @Autowired
+    public IdempotencyStore(
+            @Value("${api.idempotency.ttl:1h}") Duration ttl,
+            @Value("${api.idempotency.max-keys:10000}") int maxKeys,
+            MeterRegistry meterRegistry) {
+        this(ttl, maxKeys, Clock.systemUTC(), meterRegistry);
+        Gauge.builder("api.idempotency.keys", this::size)
+                .description("Idempotency keys remembered")
+                .register(meterRegistry);
+    }
+
+    public IdempotencyStore(Duration ttl, int maxKeys, Clock clock) {
+        this(ttl, maxKeys, clock, new SimpleMeterRegistry());
+    }
+
+    private IdempotencyStore(Duration ttl, int maxKeys, Clock clock, MeterRegistry meterRegistry) {
+        this.ttl = ttl;
+        this.maxKeys = maxKeys;
+        this.clock = clock;
+        this.created =
+                Counter.builder("api.idempotency").tag("result", "created").register(meterRegistry);
+        this.replayed =
+                Counter.builder("api.idempotency").tag("result", "replayed").register(meterRegistry);
+    }
+
+    /**
+     * The result of the create remembered for {@code key}, or of running {@code create} when there is none.
+     *
+     * @throws IllegalArgumentException when the key was used before for a different request
+     */
+    public EmployeeResponse createOnce(String key, CreateEmployeeRequest request, Supplier<EmployeeResponse> create) {
+        CompletableFuture<EmployeeResponse> result = new CompletableFuture<>();
+        Entry existing;
+        synchronized (entries) {
+            Instant now = clock.instant();
+            expire(now);
+            existing = entries.get(key);
+            if (existing == null) {
+                evictForRoom();
+                entries.put(key, new Entry(request, result));
+            }
+        }
+        if (existing != null) {
+            if (!Objects.equals(existing.request, request)) {
+                throw new IllegalArgumentException("Idempotency-Key was already used for a different request");
+            }
+            replayed.increment();
+            try {
+                return existing.result.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        created.increment();
+        EmployeeResponse employee = null;
+        try {
+            employee = create.get();
+            result.complete(employee);
+            return employee;
+        } catch (RuntimeException | Error e) {
+            result.completeExceptionally(e);
+            throw e;
+        } finally {
+            synchronized (entries) {
+                if (employee == null) {
+                    entries.remove(key);
+                } else {
+                    entries.get(key).completedAt = clock.instant();
+                }
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    // entries complete roughly in insertion order, so expired ones collect at the head
+    private void expire(Instant now) {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            if (entry.completedAt == null || entry.completedAt.plus(ttl).isAfter(now)) {
+                return;
+            }
+            iterator.remove();
+        }
+    }
+
+    // in-flight creates are never evicted, their retries must still find them
+    private void evictForRoom() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (entries.size() >= maxKeys && iterator.hasNext()) {
+            if (iterator.next().completedAt != null) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static class Entry {
+
+        final CreateEmployeeRequest request;
+        final CompletableFuture<EmployeeResponse> result;
+        // null while the create is in flight
+        Instant completedAt;
+
+        Entry(CreateEmployeeRequest request, CompletableFuture<EmployeeResponse> result) {
+            this.request = request;
+            this.result = result;
+        }
+    }
+}
@@ -0,0 +1,250 @@
+package com.reliaquest.api.service.Impl;
+
+import com.reliaquest.api.timing.RequestTimings;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Hedges point lookups across replicas of the mock employee API. Replicas are configured per upstream (base-url or
+ * shard) as {@code upstream=replica} pairs, so a hedge only goes to a server holding the same partition. The primary
+ * request gets a head start equal to a recent latency percentile; if it hasn't answered by then, the same request goes
+ * to the next replica of that upstream and the first real answer wins. An empty (null) or failed answer only wins
+ * when the other request has nothing better. The losing request is not aborted: one already waiting on its socket
+ * finishes in the background and is ignored, one still queued is dropped. Hedges draw from a budget refilled by a
+ * fraction of every primary request, which caps the extra upstream load at that fraction.
+ */
+@Slf4j
+@Component
+public class LookupHedger {
+
+    private static final int MIN_SAMPLES = 32;
+
+    @Getter
+    private final boolean enabled;
+
+    private final Map<String, List<String>> replicasByUpstream;
+    private final double percentile;
+    private final Duration initialDelay;
+    private final Duration minDelay;
+    private final Executor upstreamExecutor;
+    private final LatencyWindow latencies = new LatencyWindow(1024);
+    private final HedgeBudget budget;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Counter hedgesSent;
+    private final Counter hedgesWon;
+
+    public LookupHedger(
+            @Value("${mock.api.hedging.enabled:false}") boolean enabled,
+            @Value("${mock.api.hedging.replicas:}") List<String> replicas,
+            @Value("${mock.api.hedging.percentile:0.95}") double percentile,
+            @Value("${mock.api.hedging.initial-delay:50ms}") Duration initialDelay,
+            @Value("${mock.api.hedging.min-delay:5ms}") Duration minDelay,
+            @Value("${mock.api.hedging.max-rate:0.05}") double maxRate,
+            Executor upstreamExecutor,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.replicasByUpstream = replicasByUpstream(replicas != null ? replicas : List.of());
+        this.percentile = percentile;
+        this.initialDelay = initialDelay;
+        this.minDelay = minDelay;
+        this.upstreamExecutor = upstreamExecutor;
+        this.budget = new HedgeBudget(maxRate, 10);
+        this.hedgesSent = Counter.builder("upstream.hedges")
+                .description("Hedged lookups sent to a second replica")
+                .tag("result", "sent")
+                .register(meterRegistry);
+        this.hedgesWon = Counter.builder("upstream.hedges")
+                .description("Hedged lookups sent to a second replica")
+                .tag("result", "won")
+                .register(meterRegistry);
+    }
+
+    public static LookupHedger disabled(MeterRegistry meterRegistry) {
+        return new LookupHedger(false, List.of(), 0, Duration.ZERO, Duration.ZERO, 0, Runnable::run, meterRegistry);
+    }
+
+    /**
+     * Runs {@code request} against {@code primaryBaseUrl}, hedging onto one of its replicas when the primary is slow.
+     * Without hedging enabled, or without any replica of that upstream, this is a plain call.
+     */
+    public <T> T call(String primaryBaseUrl, Function<String, T> request) {
+        List<String> alternates = replicasByUpstream.getOrDefault(primaryBaseUrl, List.of());
+        if (!enabled || alternates.isEmpty()) {
+            return request.apply(primaryBaseUrl);
+        }
+
+        // both requests run on other threads, so this request spends the wait upstream
+        long timing = RequestTimings.start();
+        CompletionService<T> completion = new ExecutorCompletionService<>(upstreamExecutor);
+        List<Future<T>> inFlight = new ArrayList<>(2);
+        Future<T> primary = completion.submit(() -> timed(request, primaryBaseUrl));
+        inFlight.add(primary);
+        budget.deposit();
+        try {
+            Future<T> done = completion.poll(hedgeDelay().toNanos(), TimeUnit.NANOSECONDS);
+            if (done == null && budget.tryWithdraw()) {
+                String alternate = alternates.get(Math.floorMod(nextReplica.getAndIncrement(), alternates.size()));
+                inFlight.add(completion.submit(() -> timed(request, alternate)));
+                hedgesSent.increment();
+            }
+            if (done == null) {
+                done = completion.take();
+            }
+            // an empty or failed first answer waits for the other request; a failure loses to anything, empty only
+            // to a real answer
+            if (!isAnswer(done) && inFlight.size() > 1) {
+                Future<T> other = completion.take();
+                if (isAnswer(other) || isFailed(done)) {
+                    done = other;
+                }
+            }
+            if (done != primary) {
+                hedgesWon.increment();
+            }
+            return done.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + primaryBaseUrl, ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } finally {
+            // cancelling can't interrupt socket I/O, so this only keeps a request that hasn't started from being sent
+            inFlight.forEach(future -> future.cancel(false));
+            RequestTimings.stop(RequestTimings.Phase.UPSTREAM, timing);
+        }
+    }
+
+    Duration hedgeDelay() {
+        long nanos = latencies.percentile(percentile, MIN_SAMPLES);
+        if (nanos < 0) {
+            return initialDelay;
+        }
+        return Duration.ofNanos(Math.max(nanos, minDelay.toNanos()));
+    }
+
+    private <T> T timed(Function<String, T> request, String baseUrl) {
+        long started = System.nanoTime();
+        T result = request.apply(baseUrl);
+        latencies.record(System.nanoTime() - started);
+        return result;
+    }
+
+    // parses upstream=replica pairs; an upstream's replicas are tried in the order listed
+    private static Map<String, List<String>> replicasByUpstream(List<String> pairs) {
+        Map<String, List<String>> replicas = new HashMap<>();
+        for (String pair : pairs) {
+            int separator = pair.indexOf('=');
+            if (separator <= 0 || separator == pair.length() - 1) {
+                throw new IllegalArgumentException(
+                        "mock.api.hedging.replicas entries must be upstream=replica pairs, got '" + pair + "'");
+            }
+            replicas.computeIfAbsent(pair.substring(0, separator).trim(), upstream -> new ArrayList<>())
+                    .add(pair.substring(separator + 1).trim());
+        }
+        replicas.replaceAll((upstream, urls) -> List.copyOf(urls));
+        return Map.copyOf(replicas);
+    }
+
+    // completed with a non-null result
+    private static boolean isAnswer(Future<?> future) {
+        try {
+            return future.get() != null;
+        } catch (Exception ex) {
+            return false;
+        }
+    }
+
+    private static boolean isFailed(Future<?> future) {
+        try {
+            future.get();
+            return false;
+        } catch (Exception ex) {
+            return true;
+        }
+    }
+
+    /*
+     * Ring of the most recent latencies. The percentile is recomputed from a sorted copy only every so many samples,
+     * so reading it on every lookup stays cheap.
+     */
+    static class LatencyWindow {
+
+        private final long[] samples;
+        private long recorded;
+        private long cachedAt = -1;
+        private double cachedQuantile;
+        private long cachedValue;
+
+        LatencyWindow(int size) {
+            this.samples = new long[size];
+        }
+
+        synchronized void record(long nanos) {
+            samples[(int) (recorded++ % samples.length)] = nanos;
+        }
+
+        synchronized long percentile(double quantile, int minSamples) {
+            if (recorded < minSamples) {
+                return -1;
+            }
+            if (cachedAt >= 0 && cachedQuantile == quantile && recorded - cachedAt < 64) {
+                return cachedValue;
+            }
+            int count = (int) Math.min(recorded, samples.length);
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            cachedValue = sorted[Math.min(count - 1, (int) Math.ceil(quantile * count) - 1)];
+            cachedQuantile = quantile;
+            cachedAt = recorded;
+            return cachedValue;
+        }
+    }
+
+    /*
+     * Token bucket: every primary request adds maxRate tokens, every hedge takes one.
+     */
+    static class HedgeBudget {
+
+        private final double maxRate;
+        private final double capacity;
+        private double tokens;
+
+        HedgeBudget(double maxRate, double capacity) {
+            this.maxRate = maxRate;
+            this.capacity = capacity;
+        }
+
+        synchronized void deposit() {
+            tokens = Math.min(capacity, tokens + maxRate);
+        }
+
+        synchronized boolean tryWithdraw() {
+            if (tokens >= 1) {
+                tokens -= 1;
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.reliaquest.api.service.Impl;
+
+import com.reliaquest.api.cache.EmployeeTable;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reductions over the columns of an {@link EmployeeTable}. Tables below {@code parallel-threshold} rows are scanned on
+ * the calling thread; larger ones are split into row ranges that a dedicated fork/join pool scans in parallel, each
+ * range producing a partial result (a maximum, its own top N, its matching rows) that is merged pairwise as the ranges
+ * join. Merges keep row order, so results are the same either way. The pool is separate from the common pool, which
+ * parallel streams elsewhere in the JVM compete for. Where splitting starts to pay off depends on the host, so it is
+ * off (a negative threshold) until RosterReductionBenchmark has measured the crossover there.
+ */
+@Component
+public class RosterReducer implements DisposableBean {
+
+    private final ForkJoinPool pool;
+    private final int parallelThreshold;
+    private final int minChunkRows;
+
+    @Autowired
+    public RosterReducer(
+            @Value("${api.reductions.parallelism:0}") int parallelism,
+            @Value("${api.reductions.parallel-threshold:-1}") int parallelThreshold,
+            @Value("${api.reductions.min-chunk-rows:16384}") int minChunkRows) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        // with a single thread splitting only adds the hand-off
+        this.pool = threads > 1 && parallelThreshold >= 0
+                ? new ForkJoinPool(threads, RosterReducer::newWorker, null, false)
+                : null;
+        this.parallelThreshold = parallelThreshold;
+        this.minChunkRows = Math.max(1, minChunkRows);
+    }
+
+    private RosterReducer() {
+        this.pool = null;
+        this.parallelThreshold = Integer.MAX_VALUE;
+        this.minChunkRows = Integer.MAX_VALUE;
+    }
+
+    // reduces on the calling thread only, whatever the table size
+    public static RosterReducer sequential() {
+        return new RosterReducer();
+    }
+
+    // highest salary in the table, 0 when it has none
+    public int maxSalary(EmployeeTable table) {
+        return reduce(table.size(), (from, to) -> maxSalary(table, from, to), Math::max);
+    }
+
+    // rows of the highest salaries among named employees, highest first and in table order on ties
+    public int[] topSalaryRows(EmployeeTable table, int limit) {
+        return reduce(
+                table.size(),
+                (from, to) -> topSalaryRows(table, from, to, limit),
+                (left, right) -> mergeTopRows(table, left, right, limit));
+    }
+
+    // rows whose name contains the already lower-cased fragment, in table order
+    public int[] rowsWithNameContaining(EmployeeTable table, String lowerCaseFragment) {
+        return reduce(
+                table.size(),
+                (from, to) -> rowsWithNameContaining(table, from, to, lowerCaseFragment),
+                RosterReducer::concat);
+    }
+
+    @Override
+    public void destroy() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+    }
+
+    private <R> R reduce(int rows, RangeReduction<R> leaf, BinaryOperator<R> merge) {
+        if (pool == null || rows < parallelThreshold) {
+            return leaf.reduce(0, rows);
+        }
+        // a few ranges per worker, so a slow range doesn't hold up the others for long
+        int chunkRows = Math.max(minChunkRows, rows / (pool.getParallelism() * 4) + 1);
+        return pool.invoke(new Split<>(0, rows, chunkRows, leaf, merge));
+    }
+
+    private static int maxSalary(EmployeeTable table, int from, int to) {
+        int highest = 0;
+        for (int row = from; row < to; row++) {
+            highest = Math.max(highest, table.salary(row));
+        }
+        return highest;
+    }
+
+    // bounded insertion into the rows kept so far, which stay sorted by salary; cheaper than a heap for small limits
+    private static int[] topSalaryRows(EmployeeTable table, int from, int to, int limit) {
+        int[] rows = new int[Math.min(limit, to - from)];
+        int count = 0;
+        for (int row = from; row < to; row++) {
+            int salary = table.salary(row);
+            if (salary == EmployeeTable.NONE || !table.hasName(row)) {
+                continue;
+            }
+            if (count == rows.length && (count == 0 || salary <= table.salary(rows[count - 1]))) {
+                continue;
+            }
+            int at = Math.min(count, rows.length - 1);
+            while (at > 0 && table.salary(rows[at - 1]) < salary) {
+                rows[at] = rows[at - 1];
+                at--;
+            }
+            rows[at] = row;
+            count = Math.min(count + 1, rows.length);
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    // left holds the earlier rows, so it wins ties
+    private static int[] mergeTopRows(EmployeeTable table, int[] left, int[] right, int limit) {
+        int[] merged = new int[Math.min(limit, left.length + right.length)];
+        int l = 0;
+        int r = 0;
+        for (int i = 0; i < merged.length; i++) {
+            boolean takeLeft =
+                    r == right.length || (l < left.length && table.salary(left[l]) >= table.salary(right[r]));
+            merged[i] = takeLeft ? left[l++] : right[r++];
+        }
+        return merged;
+    }
+
+    private static int[] rowsWithNameContaining(EmployeeTable table, int from, int to, String lowerCaseFragment) {
+        int[] rows = new int[16];
+        int count = 0;
+        for (int row = from; row < to; row++) {
+            String name = table.name(row);
+            if (name != null && name.toLowerCase().contains(lowerCaseFragment)) {
+                if (count == rows.length) {
+                    rows = Arrays.copyOf(rows, count * 2);
+                }
+                rows[count++] = row;
+            }
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    private static int[] concat(int[] left, int[] right) {
+        int[] both = Arrays.copyOf(left, left.length + right.length);
+        System.arraycopy(right, 0, both, left.length, right.length);
+        return both;
+    }
+
+    private static ForkJoinWorkerThread newWorker(ForkJoinPool pool) {
+        ForkJoinWorkerThread worker = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        worker.setName("roster-reduce-" + worker.getPoolIndex());
+        return worker;
+    }
+
+    @FunctionalInterface
+    private interface RangeReduction<R> {
+        R reduce(int from, int to);
+    }
+
+    // halves its range until it is at most chunkRows long, scanning one half itself while the other is forked
+    private static final class Split<R> extends RecursiveTask<R> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final int chunkRows;
+        private final RangeReduction<R> leaf;
+        private final BinaryOperator<R> merge;
+
+        Split(int from, int to, int chunkRows, RangeReduction<R> leaf, BinaryOperator<R> merge) {
+            this.from = from;
+            this.to = to;
+            this.chunkRows = chunkRows;
+            this.leaf = leaf;
+            this.merge = merge;
+        }
+
+        @Override
+        protected R compute() {
+            if (to - from <= chunkRows) {
+                return leaf.reduce(from, to);
+            }
+            int middle = (from + to) >>> 1;
+            Split<R> left = new Split<>(from, middle, chunkRows, leaf, merge);
+            left.fork();
+            R right = new Split<>(middle, to, chunkRows, leaf, merge).compute();
+            return merge.apply(left.join(), right);
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.reliaquest.api.service.Impl;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+
+/**
+ * Running estimate of how many requests the mock employee API accepts per window, learned from what it actually did:
+ * the number of requests it accepted in the window before answering 429 becomes the estimate, and accepting more than
+ * the estimate raises it. After a 429 nothing is left until a window has passed. Background work only gets what is
+ * left above a reserve kept for user requests, and nothing while a user write is in flight.
+ */
+@Component
+public class UpstreamBudget {
+
+    private final Duration window;
+    private final int reserve;
+    private final Clock clock;
+    private final AtomicInteger writesInFlight = new AtomicInteger();
+
+    // guarded by this
+    private final Deque<Instant> accepted = new ArrayDeque<>();
+    private int estimatedLimit;
+    private Instant blockedUntil = Instant.MIN;
+
+    @Autowired
+    public UpstreamBudget(
+            @Value("${mock.api.budget.window:60s}") Duration window,
+            @Value("${mock.api.budget.initial-limit:5}") int initialLimit,
+            @Value("${mock.api.budget.reserve:2}") int reserve,
+            MeterRegistry meterRegistry) {
+        this(window, initialLimit, reserve, Clock.systemUTC());
+        Gauge.builder("upstream.budget.limit", this::getEstimatedLimit)
+                .description("Estimated upstream requests accepted per window")
+                .register(meterRegistry);
+        Gauge.builder("upstream.budget.remaining", this::remaining).register(meterRegistry);
+    }
+
+    public UpstreamBudget(Duration window, int initialLimit, int reserve, Clock clock) {
+        this.window = window;
+        this.estimatedLimit = initialLimit;
+        this.reserve = reserve;
+        this.clock = clock;
+    }
+
+    public void writeStarted() {
+        writesInFlight.incrementAndGet();
+    }
+
+    public void writeFinished() {
+        writesInFlight.decrementAndGet();
+    }
+
+    // records the outcome of one upstream request; null status means it never got an answer
+    public synchronized void record(HttpStatusCode status) {
+        if (status == null) {
+            return;
+        }
+        Instant now = clock.instant();
+        prune(now);
+        if (status.value() == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            estimatedLimit = Math.max(1, accepted.size());
+            blockedUntil = now.plus(window);
+            return;
+        }
+        accepted.addLast(now);
+        estimatedLimit = Math.max(estimatedLimit, accepted.size());
+    }
+
+    /**
+     * Whether background work may send {@code requests} more upstream requests now without eating into the reserve.
+     * This doesn't reserve anything; the requests are accounted for once made.
+     */
+    public synchronized boolean allowsBackground(int requests) {
+        Instant now = clock.instant();
+        if (writesInFlight.get() > 0 || now.isBefore(blockedUntil)) {
+            return false;
+        }
+        prune(now);
+        return accepted.size() + requests + reserve <= estimatedLimit;
+    }
+
+    public synchronized int getEstimatedLimit() {
+        return estimatedLimit;
+    }
+
+    public synchronized int remaining() {
+        Instant now = clock.instant();
+        if (now.isBefore(blockedUntil)) {
+            return 0;
+        }
+        prune(now);
+        return Math.max(0, estimatedLimit - accepted.size());
+    }
+
+    private void prune(Instant now) {
+        Instant horizon = now.minus(window);
+        while (!accepted.isEmpty() && !accepted.peekFirst().isAfter(horizon)) {
+            accepted.removeFirst();
+        }
+    }
+}
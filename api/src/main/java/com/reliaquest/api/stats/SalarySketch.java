@@ -0,0 +1,103 @@
+package com.reliaquest.api.stats;
+
+import java.util.Arrays;
+
+/**
+ * Quantile sketch for salaries with a bounded relative error, using DDSketch-style logarithmic buckets: bucket {@code i}
+ * counts the values in {@code (gamma^(i-1), gamma^i]}. Unlike sampling sketches it supports removing values, and two
+ * sketches with the same accuracy merge by adding up their bucket counts. Memory is fixed (about a thousand buckets at
+ * 1% accuracy) no matter how many values are added.
+ */
+public class SalarySketch {
+
+    private final double relativeAccuracy;
+    private final double gamma;
+    private final double logGamma;
+    private final long[] counts;
+    // values <= 0, which have no logarithmic bucket
+    private long zeroCount;
+    private long count;
+
+    public SalarySketch(double relativeAccuracy) {
+        if (relativeAccuracy <= 0 || relativeAccuracy >= 1) {
+            throw new IllegalArgumentException("relativeAccuracy must be in (0, 1)");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.logGamma = Math.log(gamma);
+        this.counts = new long[index(Integer.MAX_VALUE) + 1];
+    }
+
+    public void add(int value) {
+        if (value <= 0) {
+            zeroCount++;
+        } else {
+            counts[index(value)]++;
+        }
+        count++;
+    }
+
+    // removes one occurrence of value; values that were never added are ignored
+    public void remove(int value) {
+        if (value <= 0) {
+            if (zeroCount == 0) {
+                return;
+            }
+            zeroCount--;
+        } else {
+            int index = index(value);
+            if (counts[index] == 0) {
+                return;
+            }
+            counts[index]--;
+        }
+        count--;
+    }
+
+    public void merge(SalarySketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Cannot merge sketches of different accuracy");
+        }
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] += other.counts[i];
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+    }
+
+    public void clear() {
+        Arrays.fill(counts, 0);
+        zeroCount = 0;
+        count = 0;
+    }
+
+    public long count() {
+        return count;
+    }
+
+    /**
+     * Estimate of the value at {@code quantile} (0 to 1), within the relative accuracy of the true value. Returns 0 for
+     * an empty sketch.
+     */
+    public double quantile(double quantile) {
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) (Math.max(0, Math.min(1, quantile)) * (count - 1));
+        if (rank < zeroCount) {
+            return 0;
+        }
+        long seen = zeroCount;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen > rank) {
+                return 2 * Math.pow(gamma, i) / (gamma + 1);
+            }
+        }
+        return 2 * Math.pow(gamma, counts.length - 1) / (gamma + 1);
+    }
+
+    private int index(int value) {
+        return (int) Math.ceil(Math.log(value) / logGamma);
+    }
+}
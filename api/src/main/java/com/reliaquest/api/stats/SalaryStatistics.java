@@ -0,0 +1,163 @@
+package com.reliaquest.api.stats;
+
+import com.reliaquest.api.cache.Roster;
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.cache.RosterListener;
+import com.reliaquest.api.dto.response.EmployeeResponse;
+import com.reliaquest.api.dto.response.SalaryStatsResponse;
+import com.reliaquest.api.dto.response.SalaryStatsResponse.TitleStats;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReference;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Salary aggregates maintained alongside the roster cache: count, sum, min and max per title plus a quantile sketch
+ * over all salaries. A newly loaded roster rebuilds them (one sketch per partition, merged), while creates and deletes
+ * only apply their own delta. Every change publishes an immutable {@link SalaryStatsResponse}, so reading the
+ * statistics costs nothing.
+ */
+@Component
+public class SalaryStatistics implements RosterListener {
+
+    static final String NO_TITLE = "(none)";
+    private static final double[] PERCENTILES = {0.5, 0.75, 0.9, 0.95, 0.99};
+
+    private final double relativeAccuracy;
+    private final SalarySketch sketch;
+    private final Map<String, TitleAggregate> titles = new HashMap<>();
+    private final AtomicReference<SalaryStatsResponse> published = new AtomicReference<>();
+
+    public SalaryStatistics(
+            RosterCache rosterCache, @Value("${api.stats.relative-accuracy:0.01}") double relativeAccuracy) {
+        this.relativeAccuracy = relativeAccuracy;
+        this.sketch = new SalarySketch(relativeAccuracy);
+        rosterCache.addListener(this);
+    }
+
+    // statistics of the cached roster; empty until a roster has been loaded
+    public Optional<SalaryStatsResponse> current() {
+        return Optional.ofNullable(published.get());
+    }
+
+    @Override
+    public synchronized void onLoaded(Roster roster) {
+        sketch.clear();
+        titles.clear();
+        for (List<EmployeeResponse> partition : roster.getPartitions()) {
+            SalarySketch partitionSketch = new SalarySketch(relativeAccuracy);
+            for (EmployeeResponse employee : partition) {
+                if (employee.getSalary() != null) {
+                    partitionSketch.add(employee.getSalary());
+                    title(employee).add(employee.getSalary());
+                }
+            }
+            sketch.merge(partitionSketch);
+        }
+        publish(roster);
+    }
+
+    @Override
+    public synchronized void onAdded(Roster roster, EmployeeResponse employee) {
+        if (employee.getSalary() != null) {
+            sketch.add(employee.getSalary());
+            title(employee).add(employee.getSalary());
+        }
+        publish(roster);
+    }
+
+    @Override
+    public synchronized void onRemoved(Roster roster, EmployeeResponse employee) {
+        if (employee.getSalary() != null) {
+            sketch.remove(employee.getSalary());
+            TitleAggregate title = title(employee);
+            title.remove(employee.getSalary());
+            if (title.count == 0) {
+                titles.remove(titleOf(employee));
+            }
+        }
+        publish(roster);
+    }
+
+    private void publish(Roster roster) {
+        Map<String, TitleStats> byTitle = new TreeMap<>();
+        long count = 0;
+        long sum = 0;
+        Integer min = null;
+        Integer max = null;
+        for (Map.Entry<String, TitleAggregate> entry : titles.entrySet()) {
+            TitleStats stats = entry.getValue().toStats();
+            byTitle.put(entry.getKey(), stats);
+            count += stats.getCount();
+            sum += stats.getSum();
+            min = min == null || stats.getMin() < min ? stats.getMin() : min;
+            max = max == null || stats.getMax() > max ? stats.getMax() : max;
+        }
+        Map<String, Integer> percentiles = new LinkedHashMap<>();
+        for (double percentile : PERCENTILES) {
+            percentiles.put("p" + Math.round(percentile * 100), (int) Math.round(sketch.quantile(percentile)));
+        }
+        published.set(SalaryStatsResponse.builder()
+                .rosterVersion(roster.getVersion())
+                .count(count)
+                .average(count > 0 ? (double) sum / count : 0)
+                .min(min)
+                .max(max)
+                .percentiles(percentiles)
+                .titles(byTitle)
+                .build());
+    }
+
+    private TitleAggregate title(EmployeeResponse employee) {
+        return titles.computeIfAbsent(titleOf(employee), title -> new TitleAggregate());
+    }
+
+    private static String titleOf(EmployeeResponse employee) {
+        return employee.getTitle() != null ? employee.getTitle() : NO_TITLE;
+    }
+
+    /*
+     * Count and sum per title, plus the salaries as a counted multiset so min and max survive removals.
+     */
+    private static class TitleAggregate {
+
+        private final TreeMap<Integer, Integer> salaries = new TreeMap<>();
+        private long count;
+        private long sum;
+
+        void add(int salary) {
+            salaries.merge(salary, 1, Integer::sum);
+            count++;
+            sum += salary;
+        }
+
+        void remove(int salary) {
+            Integer occurrences = salaries.get(salary);
+            if (occurrences == null) {
+                return;
+            }
+            if (occurrences == 1) {
+                salaries.remove(salary);
+            } else {
+                salaries.put(salary, occurrences - 1);
+            }
+            count--;
+            sum -= salary;
+        }
+
+        TitleStats toStats() {
+            return TitleStats.builder()
+                    .count(count)
+                    .sum(sum)
+                    .average(count > 0 ? (double) sum / count : 0)
+                    .min(salaries.isEmpty() ? null : salaries.firstKey())
+                    .max(salaries.isEmpty() ? null : salaries.lastKey())
+                    .build();
+        }
+    }
+}
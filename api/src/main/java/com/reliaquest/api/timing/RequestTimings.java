@@ -0,0 +1,186 @@
+package com.reliaquest.api.timing;
+
+/**
+ * Time spent by the current request in each {@link Phase}, for the {@code Server-Timing} header and the slow-request
+ * log. One instance per thread is reused for every request that thread serves, and phases only add to a fixed array,
+ * so timing a phase allocates nothing. Outside a request (scheduled refreshes, fan-out worker threads) every call is a
+ * no-op.
+ *
+ * <p>Phases don't overlap: a phase started while another one is running is not timed separately, its time stays with
+ * the outer phase. Whatever is left of the request until its body starts being written counts as {@code compute}, the
+ * rest as {@code serialize}.
+ */
+public final class RequestTimings {
+
+    public enum Phase {
+        // waiting for a roster load started by another request
+        WAIT("wait"),
+        // upstream requests until their response headers arrived
+        UPSTREAM("upstream"),
+        // reading and decoding upstream response bodies
+        DECODE("decode"),
+        // building a loaded roster and bringing its index and statistics up to date
+        ROSTER("roster");
+
+        private final String metric;
+
+        Phase(String metric) {
+            this.metric = metric;
+        }
+    }
+
+    public static final long NOT_TIMED = Long.MIN_VALUE;
+
+    private static final Phase[] PHASES = Phase.values();
+    private static final ThreadLocal<RequestTimings> CURRENT = ThreadLocal.withInitial(RequestTimings::new);
+
+    private final long[] nanos = new long[PHASES.length];
+    private final int[] counts = new int[PHASES.length];
+    private boolean active;
+    private boolean open;
+    private long begun;
+    private long handled;
+    private long arrived;
+
+    private RequestTimings() {}
+
+    // starts timing a request on this thread and returns its (reused) timings
+    static RequestTimings begin() {
+        RequestTimings timings = CURRENT.get();
+        timings.active = true;
+        timings.open = false;
+        timings.begun = System.nanoTime();
+        timings.handled = 0;
+        timings.arrived = 0;
+        for (int i = 0; i < PHASES.length; i++) {
+            timings.nanos[i] = 0;
+            timings.counts[i] = 0;
+        }
+        return timings;
+    }
+
+    void end() {
+        active = false;
+    }
+
+    static RequestTimings current() {
+        RequestTimings timings = CURRENT.get();
+        return timings.active ? timings : null;
+    }
+
+    /**
+     * Starts a phase and returns the token to {@link #stop} it with; {@link #NOT_TIMED} when no request is being timed
+     * on this thread or another phase is already running.
+     */
+    public static long start() {
+        RequestTimings timings = CURRENT.get();
+        if (!timings.active || timings.open) {
+            return NOT_TIMED;
+        }
+        timings.open = true;
+        timings.arrived = 0;
+        return System.nanoTime();
+    }
+
+    public static void stop(Phase phase, long token) {
+        if (token == NOT_TIMED) {
+            return;
+        }
+        RequestTimings timings = CURRENT.get();
+        timings.add(phase, System.nanoTime() - token);
+        timings.open = false;
+    }
+
+    // the response headers of the upstream exchange being timed have arrived; the rest of it is decoding
+    public static void responseArrived() {
+        RequestTimings timings = CURRENT.get();
+        if (timings.open) {
+            timings.arrived = System.nanoTime();
+        }
+    }
+
+    // stops an upstream exchange started with start(), split into UPSTREAM and DECODE at responseArrived()
+    public static void stopExchange(long token) {
+        if (token == NOT_TIMED) {
+            return;
+        }
+        RequestTimings timings = CURRENT.get();
+        long now = System.nanoTime();
+        long arrived = timings.arrived != 0 ? timings.arrived : now;
+        timings.add(Phase.UPSTREAM, arrived - token);
+        timings.nanos[Phase.DECODE.ordinal()] += now - arrived;
+        timings.open = false;
+    }
+
+    // the response body starts being written; only the first call counts
+    static void handled() {
+        RequestTimings timings = CURRENT.get();
+        if (timings.active && timings.handled == 0) {
+            timings.handled = System.nanoTime();
+        }
+    }
+
+    long elapsed() {
+        return System.nanoTime() - begun;
+    }
+
+    /**
+     * Server-Timing value of what is known so far, e.g. {@code upstream;dur=41.2;desc="1 request", decode;dur=3.0,
+     * compute;dur=0.4, total;dur=44.9}. Phases below 0.1 ms are left out.
+     */
+    String header() {
+        long end = handled != 0 ? handled : System.nanoTime();
+        StringBuilder header = new StringBuilder(128);
+        long phases = 0;
+        for (Phase phase : PHASES) {
+            long spent = nanos[phase.ordinal()];
+            phases += spent;
+            if (spent < 100_000) {
+                continue;
+            }
+            append(header, phase.metric, spent);
+            if (phase == Phase.UPSTREAM) {
+                int requests = counts[phase.ordinal()];
+                header.append(";desc=\"").append(requests).append(requests == 1 ? " request\"" : " requests\"");
+            }
+            header.append(", ");
+        }
+        append(header, "compute", Math.max(0, end - begun - phases));
+        header.append(", ");
+        append(header, "total", end - begun);
+        return header.toString();
+    }
+
+    // every phase including serialize, for the slow-request log, e.g. "wait=0.0ms upstream=41.2ms ..."
+    String describe() {
+        long end = System.nanoTime();
+        long body = handled != 0 ? handled : end;
+        StringBuilder description = new StringBuilder(128);
+        long phases = 0;
+        for (Phase phase : PHASES) {
+            phases += nanos[phase.ordinal()];
+            description.append(phase.metric).append('=');
+            appendMillis(description, nanos[phase.ordinal()]).append("ms ");
+        }
+        appendMillis(description.append("compute="), Math.max(0, body - begun - phases))
+                .append("ms ");
+        appendMillis(description.append("serialize="), end - body).append("ms");
+        return description.toString();
+    }
+
+    private void add(Phase phase, long spent) {
+        nanos[phase.ordinal()] += spent;
+        counts[phase.ordinal()]++;
+    }
+
+    // name;dur=<milliseconds>
+    private static void append(StringBuilder target, String name, long nanos) {
+        appendMillis(target.append(name).append(";dur="), nanos);
+    }
+
+    // milliseconds with one decimal, without going through String.format
+    private static StringBuilder appendMillis(StringBuilder target, long nanos) {
+        long tenths = Math.max(0, nanos) / 100_000;
+        return target.append(tenths / 10).append('.').append(tenths % 10);
+    }
+}
@@ -0,0 +1,67 @@
+package com.reliaquest.api.timing;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Times requests to {@code /api/**} with {@link RequestTimings}. {@link ServerTimingAdvice} puts the breakdown into a
+ * {@code Server-Timing} header just before the body is written; answers without a body (e.g. from other filters) get
+ * it here, if the response is not committed yet. Requests taking at least the slow-request threshold are logged with
+ * every phase, serialization included.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    public static final String SERVER_TIMING = "Server-Timing";
+
+    private final boolean enabled;
+    private final long slowThresholdNanos;
+
+    public ServerTimingFilter(
+            @Value("${api.timing.enabled:true}") boolean enabled,
+            @Value("${api.timing.slow-threshold:1s}") Duration slowThreshold) {
+        this.enabled = enabled;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestTimings timings = RequestTimings.begin();
+        try {
+            chain.doFilter(request, response);
+            if (!response.isCommitted() && !response.containsHeader(SERVER_TIMING)) {
+                response.setHeader(SERVER_TIMING, timings.header());
+            }
+        } finally {
+            long elapsed = timings.elapsed();
+            if (slowThresholdNanos > 0 && elapsed >= slowThresholdNanos) {
+                log.warn(
+                        "Slow request {} {} answered {} after {} ms: {}",
+                        request.getMethod(),
+                        request.getRequestURI(),
+                        response.getStatus(),
+                        elapsed / 1_000_000,
+                        timings.describe());
+            }
+            timings.end();
+        }
+    }
+}
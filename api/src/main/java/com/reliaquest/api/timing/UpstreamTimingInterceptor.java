@@ -0,0 +1,22 @@
+package com.reliaquest.api.timing;
+
+import java.io.IOException;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * Splits a timed upstream exchange into waiting for the response and decoding its body, see
+ * {@link RequestTimings#stopExchange}.
+ */
+public class UpstreamTimingInterceptor implements ClientHttpRequestInterceptor {
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        ClientHttpResponse response = execution.execute(request, body);
+        RequestTimings.responseArrived();
+        return response;
+    }
+}
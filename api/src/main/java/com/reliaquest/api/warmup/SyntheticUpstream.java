@@ -0,0 +1,122 @@
+package com.reliaquest.api.warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.reliaquest.api.config.WireFormat;
+import com.reliaquest.api.dto.response.ApiResponse;
+import com.reliaquest.api.dto.response.EmployeeResponse;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.client.AbstractClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequest;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.ClientHttpResponse;
+
+/**
+ * In-memory stand-in for the mock employee API, answering every request with pre-encoded synthetic payloads in the
+ * configured wire format. Lets warm-up drive the real decoding path without spending upstream request budget.
+ */
+class SyntheticUpstream implements ClientHttpRequestFactory {
+
+    static final String BASE_URL = "http://warmup.invalid/api/v1/employee";
+
+    private final HttpHeaders headers = new HttpHeaders();
+    private final byte[] roster;
+    private final byte[] employee;
+    private final byte[] deleted;
+
+    SyntheticUpstream(WireFormat wireFormat, int rosterSize) throws JsonProcessingException {
+        var objectMapper = wireFormat.objectMapper();
+        EmployeeResponse[] employees = IntStream.range(0, rosterSize)
+                .mapToObj(SyntheticUpstream::employee)
+                .toArray(EmployeeResponse[]::new);
+        this.roster = objectMapper.writeValueAsBytes(handledWith(employees));
+        this.employee = objectMapper.writeValueAsBytes(handledWith(employees[0]));
+        this.deleted = objectMapper.writeValueAsBytes(handledWith(Boolean.TRUE));
+        this.headers.setContentType(wireFormat.getMediaType());
+    }
+
+    @Override
+    public ClientHttpRequest createRequest(URI uri, HttpMethod httpMethod) {
+        return new AbstractClientHttpRequest() {
+            @Override
+            public HttpMethod getMethod() {
+                return httpMethod;
+            }
+
+            @Override
+            public URI getURI() {
+                return uri;
+            }
+
+            @Override
+            protected OutputStream getBodyInternal(HttpHeaders headers) {
+                return OutputStream.nullOutputStream();
+            }
+
+            @Override
+            protected ClientHttpResponse executeInternal(HttpHeaders headers) {
+                if (HttpMethod.DELETE.equals(httpMethod)) {
+                    return response(deleted);
+                }
+                boolean listing = HttpMethod.GET.equals(httpMethod)
+                        && uri.getPath().equals(URI.create(BASE_URL).getPath());
+                return response(listing ? roster : employee);
+            }
+        };
+    }
+
+    private ClientHttpResponse response(byte[] body) {
+        return new ClientHttpResponse() {
+            @Override
+            public HttpStatusCode getStatusCode() {
+                return HttpStatus.OK;
+            }
+
+            @Override
+            public String getStatusText() {
+                return HttpStatus.OK.getReasonPhrase();
+            }
+
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+
+            @Override
+            public InputStream getBody() {
+                return new ByteArrayInputStream(body);
+            }
+
+            @Override
+            public void close() {}
+        };
+    }
+
+    private static EmployeeResponse employee(int index) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return EmployeeResponse.builder()
+                .id(UUID.randomUUID().toString())
+                .name("Warmup Employee " + index)
+                .salary(random.nextInt(30000, 500000))
+                .age(random.nextInt(16, 70))
+                .title("Title " + random.nextInt(200))
+                .email("warmup" + index + "@company.com")
+                .build();
+    }
+
+    private static <T> ApiResponse<T> handledWith(T data) {
+        ApiResponse<T> response = new ApiResponse<>();
+        response.setData(data);
+        response.setStatus("Successfully processed request.");
+        return response;
+    }
+}
@@ -0,0 +1,214 @@
+package com.reliaquest.api.warmup;
+
+import com.reliaquest.api.config.WireFormat;
+import com.reliaquest.api.controller.EmployeeController;
+import com.reliaquest.api.service.Impl.EmployeeServiceImpl;
+import java.lang.management.CompilationMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+/**
+ * Warms up the JIT before the api reports ready. Application runners complete before {@code ApplicationReadyEvent},
+ * so readiness stays {@code REFUSING_TRAFFIC} while this runs. A second controller, wired to a service that talks to an
+ * in-memory {@link SyntheticUpstream}, is mapped under {@value #WARMUP_PATH} and driven over loopback HTTP, which
+ * exercises the same servlet, Jackson and RestTemplate decoding paths as real traffic without using the upstream
+ * request budget. Rounds repeat until compilation time stops growing (or max-duration passes), then the mappings are
+ * removed again.
+ */
+@Slf4j
+@Component
+public class WarmupRunner implements ApplicationRunner {
+
+    static final String WARMUP_PATH = "/internal/warmup/employees";
+    private static final int ROUNDS_PER_CHECK = 25;
+
+    private final ApplicationContext context;
+    private final RequestMappingHandlerMapping handlerMapping;
+    private final RestTemplate restTemplate;
+    private final WireFormat wireFormat;
+    private final boolean enabled;
+    private final int rosterSize;
+    private final int minRounds;
+    private final Duration maxDuration;
+    private final Duration settleThreshold;
+
+    public WarmupRunner(
+            ApplicationContext context,
+            @Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping,
+            RestTemplate restTemplate,
+            @Value("${mock.api.wire-format:smile}") WireFormat wireFormat,
+            @Value("${api.warmup.enabled:true}") boolean enabled,
+            @Value("${api.warmup.roster-size:1000}") int rosterSize,
+            @Value("${api.warmup.min-rounds:100}") int minRounds,
+            @Value("${api.warmup.max-duration:20s}") Duration maxDuration,
+            @Value("${api.warmup.settle-threshold:20ms}") Duration settleThreshold) {
+        this.context = context;
+        this.handlerMapping = handlerMapping;
+        this.restTemplate = restTemplate;
+        this.wireFormat = wireFormat;
+        this.enabled = enabled;
+        this.rosterSize = rosterSize;
+        this.minRounds = minRounds;
+        this.maxDuration = maxDuration;
+        this.settleThreshold = settleThreshold;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!enabled
+                || !(context instanceof WebServerApplicationContext webContext)
+                || webContext.getWebServer() == null) {
+            return;
+        }
+        AvailabilityChangeEvent.publish(context, ReadinessState.REFUSING_TRAFFIC);
+
+        RestTemplate synthetic = new RestTemplate(restTemplate.getMessageConverters());
+        synthetic.setRequestFactory(new SyntheticUpstream(wireFormat, rosterSize));
+        EmployeeController controller =
+                new EmployeeController(EmployeeServiceImpl.standalone(SyntheticUpstream.BASE_URL, synthetic));
+
+        List<RequestMappingInfo> mappings = register(controller);
+        try {
+            drive(webContext.getWebServer().getPort());
+        } finally {
+            mappings.forEach(handlerMapping::unregisterMapping);
+        }
+    }
+
+    private List<RequestMappingInfo> register(EmployeeController controller) {
+        List<RequestMappingInfo> mappings = new ArrayList<>();
+        for (Method method : EmployeeController.class.getMethods()) {
+            RequestMapping mapping = AnnotatedElementUtils.findMergedAnnotation(method, RequestMapping.class);
+            if (mapping == null || method.isBridge()) {
+                continue;
+            }
+            String[] paths = mapping.path().length == 0
+                    ? new String[] {WARMUP_PATH}
+                    : Arrays.stream(mapping.path()).map(WARMUP_PATH::concat).toArray(String[]::new);
+            RequestMappingInfo info = RequestMappingInfo.paths(paths)
+                    .methods(mapping.method())
+                    .params(mapping.params())
+                    .headers(mapping.headers())
+                    .options(handlerMapping.getBuilderConfiguration())
+                    .build();
+            handlerMapping.registerMapping(info, controller, method);
+            mappings.add(info);
+        }
+        return mappings;
+    }
+
+    private void drive(int port) throws Exception {
+        CompilationMXBean jit = ManagementFactory.getCompilationMXBean();
+        boolean timed = jit != null && jit.isCompilationTimeMonitoringSupported();
+        HttpClient client = HttpClient.newHttpClient();
+        String base = "http://localhost:" + port + WARMUP_PATH;
+
+        long started = System.nanoTime();
+        long deadline = started + maxDuration.toNanos();
+        long compileMillis = timed ? jit.getTotalCompilationTime() : 0;
+        int rounds = 0;
+        int failed = 0;
+        while (System.nanoTime() < deadline) {
+            for (int i = 0; i < ROUNDS_PER_CHECK; i++) {
+                failed += round(client, base);
+            }
+            rounds += ROUNDS_PER_CHECK;
+            if (rounds < minRounds) {
+                continue;
+            }
+            if (!timed) {
+                break;
+            }
+            // stop once a batch of rounds triggers (almost) no new compilation
+            long now = jit.getTotalCompilationTime();
+            long delta = now - compileMillis;
+            compileMillis = now;
+            if (delta <= settleThreshold.toMillis()) {
+                break;
+            }
+        }
+        log.info(
+                "JIT warm-up finished after {} rounds ({} failed requests) in {} ms",
+                rounds,
+                failed,
+                Duration.ofNanos(System.nanoTime() - started).toMillis());
+    }
+
+    // returns the number of requests that did not answer 2xx
+    private static int round(HttpClient client, String base) throws Exception {
+        int failed = 0;
+        failed += send(client, HttpRequest.newBuilder(URI.create(base)).GET());
+        failed += send(
+                client,
+                HttpRequest.newBuilder(URI.create(base + "/search/Employee%201"))
+                        .GET());
+        failed += send(
+                client,
+                HttpRequest.newBuilder(URI.create(base + "/search/Emplyee%2012?fuzzy=true&maxEdits=2"))
+                        .GET());
+        failed += send(
+                client, HttpRequest.newBuilder(URI.create(base + "/warmup-id")).GET());
+        failed += send(
+                client,
+                HttpRequest.newBuilder(URI.create(base + "/highestSalary")).GET());
+        failed += send(
+                client,
+                HttpRequest.newBuilder(URI.create(base + "/list?fields=employee_name,employee_salary"))
+                        .GET());
+        failed +=
+                send(client, HttpRequest.newBuilder(URI.create(base + "/stats")).GET());
+        failed += send(
+                client,
+                HttpRequest.newBuilder(URI.create(base + "/summary?search=Employee%201"))
+                        .GET());
+        failed += send(
+                client,
+                HttpRequest.newBuilder(URI.create(base + "/lookup"))
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .POST(HttpRequest.BodyPublishers.ofString("{\"ids\":[\"warmup-id\",\"other-id\"]}")));
+        failed += send(
+                client,
+                HttpRequest.newBuilder(URI.create(base + "/topTenHighestEarningEmployeeNames"))
+                        .GET());
+        failed += send(
+                client,
+                HttpRequest.newBuilder(URI.create(base))
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                "{\"name\":\"Warmup\",\"salary\":50000,\"age\":30,\"title\":\"Engineer\"}")));
+        failed += send(
+                client, HttpRequest.newBuilder(URI.create(base + "/warmup-id")).DELETE());
+        return failed;
+    }
+
+    private static int send(HttpClient client, HttpRequest.Builder request) throws Exception {
+        int status = client.send(request.build(), HttpResponse.BodyHandlers.discarding())
+                .statusCode();
+        return status / 100 == 2 ? 0 : 1;
+    }
+}
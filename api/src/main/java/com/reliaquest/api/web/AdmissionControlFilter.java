@@ -0,0 +1,128 @@
+package com.reliaquest.api.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Admission control for the employee endpoints. Requests beyond an adaptive concurrency limit ({@link GradientLimit})
+ * are turned away immediately with 503 and {@code Retry-After} instead of tying up another servlet thread waiting on
+ * upstream. Each priority may only fill its share of the limit, so as the limit shrinks the roster-wide reads are shed
+ * first, then by-id lookups, and writes last.
+ */
+@Slf4j
+@Component
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    static final String EMPLOYEES_PATH = "/api/v1/employees";
+
+    private static final String BULK_LOOKUP = "/lookup";
+
+    // reads that need the whole roster; everything else under a single path segment is a by-id lookup
+    private static final Set<String> ROSTER_READS =
+            Set.of("", "/list", "/summary", "/stats", "/highestSalary", "/topTenHighestEarningEmployeeNames");
+
+    @Getter
+    @RequiredArgsConstructor
+    enum Priority {
+        WRITE(1.0),
+        LOOKUP(0.9),
+        ROSTER_READ(0.6);
+
+        private final double share;
+    }
+
+    private final boolean enabled;
+    private final GradientLimit limit;
+    private final String retryAfterSeconds;
+    private final Map<Priority, Counter> rejected = new EnumMap<>(Priority.class);
+
+    @Autowired
+    public AdmissionControlFilter(
+            @Value("${api.admission.enabled:true}") boolean enabled,
+            @Value("${api.admission.initial-limit:20}") int initialLimit,
+            @Value("${api.admission.min-limit:4}") int minLimit,
+            @Value("${api.admission.max-limit:200}") int maxLimit,
+            @Value("${api.admission.smoothing:0.2}") double smoothing,
+            @Value("${api.admission.retry-after:1s}") Duration retryAfter,
+            MeterRegistry meterRegistry) {
+        this(enabled, new GradientLimit(initialLimit, minLimit, maxLimit, smoothing), retryAfter, meterRegistry);
+    }
+
+    AdmissionControlFilter(boolean enabled, GradientLimit limit, Duration retryAfter, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.limit = limit;
+        this.retryAfterSeconds = String.valueOf(Math.max(1, retryAfter.toSeconds()));
+        for (Priority priority : Priority.values()) {
+            rejected.put(
+                    priority,
+                    Counter.builder("api.admission.rejected")
+                            .description("Requests shed with 503 by admission control")
+                            .tag("priority", priority.name())
+                            .register(meterRegistry));
+        }
+        Gauge.builder("api.admission.limit", limit::getLimit)
+                .description("Current adaptive concurrency limit")
+                .register(meterRegistry);
+        Gauge.builder("api.admission.in-flight", limit::getInFlight).register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !request.getRequestURI().startsWith(EMPLOYEES_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Priority priority = priorityOf(request);
+        int inFlight = limit.tryAcquire(priority.getShare());
+        if (inFlight < 0) {
+            rejected.get(priority).increment();
+            log.debug("Shedding {} {} at limit {}", request.getMethod(), request.getRequestURI(), limit.getLimit());
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            limit.release(System.nanoTime() - started, inFlight);
+        }
+    }
+
+    static Priority priorityOf(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(EMPLOYEES_PATH.length());
+        // a bulk lookup is a read, and may cost a whole roster fetch
+        if (path.equals(BULK_LOOKUP)) {
+            return Priority.ROSTER_READ;
+        }
+        if (!HttpMethod.GET.matches(request.getMethod())) {
+            return Priority.WRITE;
+        }
+        if (ROSTER_READS.contains(path) || path.equals("/") || path.startsWith("/search/")) {
+            return Priority.ROSTER_READ;
+        }
+        return Priority.LOOKUP;
+    }
+}
@@ -0,0 +1,157 @@
+package com.reliaquest.api.web;
+
+import com.reliaquest.api.cache.Roster;
+import com.reliaquest.api.cache.RosterCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.time.Duration;
+import java.util.Enumeration;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Conditional GET for the employee reads derived from the roster alone: the full list, the highest salary, the top ten
+ * names and search. Each is answered from the cached roster while it is fresh, so the roster version identifies the
+ * answer: it becomes a strong ETag (prefixed with an id of this instance, as versions of
+ * different instances or runs say nothing about each other). A matching {@code If-None-Match} is answered 304 before
+ * admission control, the controller, upstream or serialization get involved. Successful answers carry the ETag and a
+ * short public {@code Cache-Control}, so intermediary caches can absorb repeated polls. Nothing is tagged while no
+ * fresh roster is cached, as the answer may then come straight from upstream.
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 10)
+public class RosterETagFilter extends OncePerRequestFilter {
+
+    // by-id reads, statistics, paging and write-behind status may be answered from elsewhere, so they stay untagged
+    private static final Set<String> ROSTER_PATHS = Set.of("", "/highestSalary", "/topTenHighestEarningEmployeeNames");
+    private static final String SEARCH_PATH = "/search/";
+
+    private final RosterCache rosterCache;
+    private final boolean enabled;
+    private final String cacheControl;
+    private final String instance = Long.toString(ThreadLocalRandom.current().nextLong() >>> 1, 36);
+    private final Counter notModified;
+
+    public RosterETagFilter(
+            RosterCache rosterCache,
+            @Value("${api.conditional.enabled:true}") boolean enabled,
+            @Value("${api.conditional.max-age:5s}") Duration maxAge,
+            MeterRegistry meterRegistry) {
+        this.rosterCache = rosterCache;
+        this.enabled = enabled;
+        this.cacheControl = "public, max-age=" + maxAge.toSeconds();
+        this.notModified = Counter.builder("api.conditional.not-modified")
+                .description("Conditional GETs answered 304 from the roster version")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        if (!enabled
+                || !HttpMethod.GET.matches(request.getMethod())
+                || !uri.startsWith(AdmissionControlFilter.EMPLOYEES_PATH)) {
+            return true;
+        }
+        String path = uri.substring(AdmissionControlFilter.EMPLOYEES_PATH.length());
+        return !ROSTER_PATHS.contains(path)
+                && !(path.startsWith(SEARCH_PATH) && path.indexOf('/', SEARCH_PATH.length()) < 0);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Roster roster = rosterCache.fresh().orElse(null);
+        if (roster == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        // versions only grow, so content from a roster changed meanwhile is never older than this tag
+        String eTag = "\"" + instance + "-" + roster.getVersion() + "\"";
+        if (matches(request.getHeaders(HttpHeaders.IF_NONE_MATCH), eTag)) {
+            notModified.increment();
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            response.setHeader(HttpHeaders.ETAG, eTag);
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+            return;
+        }
+        chain.doFilter(request, new TaggingResponse(response, eTag, cacheControl));
+    }
+
+    // weak comparison, as RFC 9110 prescribes for If-None-Match
+    static boolean matches(Enumeration<String> ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        while (ifNoneMatch.hasMoreElements()) {
+            for (String candidate : ifNoneMatch.nextElement().split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals("*") || tag.equals(eTag)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // adds the validators once the body is about to be written, and only to successful answers
+    private static class TaggingResponse extends HttpServletResponseWrapper {
+
+        private final String eTag;
+        private final String cacheControl;
+        private boolean tagged;
+
+        TaggingResponse(HttpServletResponse response, String eTag, String cacheControl) {
+            super(response);
+            this.eTag = eTag;
+            this.cacheControl = cacheControl;
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            tag();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            tag();
+            return super.getWriter();
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            tag();
+            super.flushBuffer();
+        }
+
+        private void tag() {
+            if (tagged || isCommitted()) {
+                return;
+            }
+            tagged = true;
+            if (getStatus() / 100 == 2 && getHeader(HttpHeaders.ETAG) == null) {
+                setHeader(HttpHeaders.ETAG, eTag);
+                setHeader(HttpHeaders.CACHE_CONTROL, cacheControl);
+            }
+        }
+    }
+}
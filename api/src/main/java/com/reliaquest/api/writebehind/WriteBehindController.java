@@ -0,0 +1,60 @@
+package com.reliaquest.api.writebehind;
+
+import com.reliaquest.api.dto.request.CreateEmployeeRequest;
+import com.reliaquest.api.dto.response.QueuedCreateStatus;
+import jakarta.validation.Valid;
+import java.net.URI;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping(value = WriteBehindController.PATH)
+@ConditionalOnProperty(name = "api.write-behind.enabled", havingValue = "true")
+public class WriteBehindController {
+
+    static final String PATH = "/api/v1/employees/async";
+
+    private final WriteBehindQueue queue;
+    private final String retryAfterSeconds;
+
+    public WriteBehindController(
+            WriteBehindQueue queue, @Value("${api.write-behind.flush-interval:PT1S}") Duration flushInterval) {
+        this.queue = queue;
+        this.retryAfterSeconds = String.valueOf(Math.max(1, flushInterval.toSeconds()));
+    }
+
+    // 202 with a tracking id once the create is in the queue's log; 503 while the queue is full
+    @PostMapping
+    public ResponseEntity<QueuedCreateStatus> createEmployee(
+            @Valid @RequestBody CreateEmployeeRequest createEmployeeRequest) {
+        return queue.enqueue(createEmployeeRequest)
+                .map(status -> ResponseEntity.accepted()
+                        .location(URI.create(PATH + "/" + status.getTrackingId()))
+                        .body(status))
+                .orElseGet(() -> {
+                    log.debug("Write-behind queue full, rejecting create");
+                    return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                            .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds)
+                            .build();
+                });
+    }
+
+    @GetMapping("/{trackingId}")
+    public ResponseEntity<QueuedCreateStatus> getStatus(@PathVariable String trackingId) {
+        return queue.status(trackingId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+    }
+}
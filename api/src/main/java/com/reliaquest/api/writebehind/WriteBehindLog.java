@@ -0,0 +1,149 @@
+package com.reliaquest.api.writebehind;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.dto.request.CreateEmployeeRequest;
+import com.reliaquest.api.dto.response.EmployeeResponse;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Append-only file of queued creates and their outcomes, one JSON record per line. A create is only acknowledged once
+ * its record is written (and forced to disk when {@code sync} is set), so a restart can queue again whatever has no
+ * outcome yet. A torn last line from a crash mid-append is skipped on replay. Not thread-safe; the queue serializes
+ * access.
+ */
+@Slf4j
+class WriteBehindLog implements AutoCloseable {
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    record Entry(
+            String op,
+            String trackingId,
+            CreateEmployeeRequest request,
+            EmployeeResponse employee,
+            String error,
+            String batch) {
+
+        static final String QUEUED = "queued";
+        // the create is about to go upstream in the batch with this idempotency key
+        static final String SENT = "sent";
+        static final String CREATED = "created";
+        static final String FAILED = "failed";
+
+        Entry(String op, String trackingId, CreateEmployeeRequest request, EmployeeResponse employee, String error) {
+            this(op, trackingId, request, employee, error, null);
+        }
+    }
+
+    private final Path file;
+    private final boolean sync;
+    private final ObjectMapper objectMapper;
+    private FileChannel channel;
+    private int appended;
+
+    WriteBehindLog(Path file, boolean sync, ObjectMapper objectMapper) {
+        this.file = file;
+        this.sync = sync;
+        this.objectMapper = objectMapper;
+    }
+
+    // records written so far, oldest first; opens the file for appending afterwards
+    List<Entry> open() throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        List<Entry> entries = new ArrayList<>();
+        if (Files.exists(file)) {
+            try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isBlank()) {
+                        continue;
+                    }
+                    try {
+                        entries.add(objectMapper.readValue(line, Entry.class));
+                    } catch (IOException e) {
+                        log.warn("Skipping unreadable write-behind record in {}: {}", file, e.getMessage());
+                    }
+                }
+            }
+        }
+        channel =
+                FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        appended = entries.size();
+        return entries;
+    }
+
+    void append(Entry entry) {
+        append(List.of(entry));
+    }
+
+    // one write (and one force) for all of them
+    void append(List<Entry> entries) {
+        try {
+            write(channel, entries);
+            if (sync) {
+                channel.force(false);
+            }
+            appended += entries.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    int appended() {
+        return appended;
+    }
+
+    // replaces the file with just these records, through a temporary file and an atomic move
+    void rewrite(List<Entry> entries) {
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try {
+            try (FileChannel out = FileChannel.open(
+                    temporary,
+                    StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                write(out, entries);
+                out.force(true);
+            }
+            channel.close();
+            try {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                appended = entries.size();
+            } finally {
+                channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void write(FileChannel out, List<Entry> entries) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (Entry entry : entries) {
+            lines.append(objectMapper.writeValueAsString(entry)).append('\n');
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            out.write(buffer);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+}
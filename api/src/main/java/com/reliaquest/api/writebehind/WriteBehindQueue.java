@@ -0,0 +1,293 @@
+package com.reliaquest.api.writebehind;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.dto.request.CreateEmployeeRequest;
+import com.reliaquest.api.dto.response.EmployeeResponse;
+import com.reliaquest.api.dto.response.QueuedCreateStatus;
+import com.reliaquest.api.dto.response.QueuedCreateStatus.State;
+import com.reliaquest.api.exception.EmployeeServiceException;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.service.Impl.UpstreamBudget;
+import com.reliaquest.api.writebehind.WriteBehindLog.Entry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+
+/**
+ * Opt-in asynchronous creates. A create is accepted once it is in the {@link WriteBehindLog}, and a scheduled flush
+ * sends the queue upstream in batches of batch-size, one request per batch. Flushing only goes on while the
+ * {@link UpstreamBudget} has requests to spare; a 429, 5xx or connection failure leaves the batch queued for the next
+ * tick, up to max-attempts. Any other 4xx fails the batch right away. A batch is journaled with its own Idempotency-Key
+ * before it is first sent, and every retry, also after a restart, sends the same creates under that key: a timeout
+ * after upstream already created the batch gets the original employees back rather than duplicates. The queue holds at
+ * most max-pending creates, so importers see backpressure instead of an ever-growing backlog, and the outcomes of the
+ * last retained creates stay available by tracking id.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "api.write-behind.enabled", havingValue = "true")
+public class WriteBehindQueue implements DisposableBean {
+
+    private final EmployeeService employeeService;
+    private final UpstreamBudget upstreamBudget;
+    private final MeterRegistry meterRegistry;
+    private final WriteBehindLog journal;
+    private final int batchSize;
+    private final int maxPending;
+    private final int maxAttempts;
+    private final int retained;
+
+    // guarded by this; items in the order they were queued
+    private final Map<String, Item> items = new LinkedHashMap<>();
+    private final Deque<Item> pending = new ArrayDeque<>();
+
+    public WriteBehindQueue(
+            EmployeeService employeeService,
+            UpstreamBudget upstreamBudget,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${api.write-behind.file:${java.io.tmpdir}/employee-api/write-behind.ndjson}") Path file,
+            @Value("${api.write-behind.sync:true}") boolean sync,
+            @Value("${api.write-behind.batch-size:100}") int batchSize,
+            @Value("${api.write-behind.max-pending:10000}") int maxPending,
+            @Value("${api.write-behind.max-attempts:5}") int maxAttempts,
+            @Value("${api.write-behind.retained:10000}") int retained)
+            throws IOException {
+        this.employeeService = employeeService;
+        this.upstreamBudget = upstreamBudget;
+        this.meterRegistry = meterRegistry;
+        this.journal = new WriteBehindLog(file, sync, objectMapper);
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+        this.maxAttempts = maxAttempts;
+        this.retained = retained;
+
+        replay(journal.open());
+        Gauge.builder("api.write-behind.pending", this::pending)
+                .description("Creates accepted but not yet sent upstream")
+                .register(meterRegistry);
+        if (!pending.isEmpty()) {
+            log.info("Resuming {} queued creates from {}", pending.size(), file);
+        }
+    }
+
+    // queued status of the accepted create, or empty when the queue is full
+    public synchronized Optional<QueuedCreateStatus> enqueue(CreateEmployeeRequest request) {
+        if (pending.size() >= maxPending) {
+            meterRegistry.counter("api.write-behind.rejected").increment();
+            return Optional.empty();
+        }
+        Item item = new Item(UUID.randomUUID().toString(), request);
+        journal.append(new Entry(Entry.QUEUED, item.trackingId, request, null, null));
+        items.put(item.trackingId, item);
+        pending.addLast(item);
+        return Optional.of(item.status());
+    }
+
+    public synchronized Optional<QueuedCreateStatus> status(String trackingId) {
+        return Optional.ofNullable(items.get(trackingId)).map(Item::status);
+    }
+
+    public synchronized int pending() {
+        return pending.size();
+    }
+
+    @Scheduled(
+            initialDelayString = "${api.write-behind.flush-interval:PT1S}",
+            fixedDelayString = "${api.write-behind.flush-interval:PT1S}")
+    public void flush() {
+        while (true) {
+            List<Item> batch = nextBatch();
+            if (batch.isEmpty()) {
+                break;
+            }
+            if (!upstreamBudget.allowsBackground(1)) {
+                meterRegistry.counter("api.write-behind.deferred").increment();
+                break;
+            }
+            String key = sending(batch);
+            try {
+                List<EmployeeResponse> created = employeeService.createEmployees(
+                        batch.stream().map(item -> item.request).toList(), key);
+                completed(batch, created, null);
+                count("created", batch.size());
+            } catch (EmployeeServiceException ex) {
+                boolean permanent = ex.getCause() instanceof HttpClientErrorException clientError
+                        && clientError.getStatusCode() != HttpStatus.TOO_MANY_REQUESTS;
+                if (!retry(batch, permanent, ex.getMessage())) {
+                    log.debug("Write-behind batch of {} deferred: {}", batch.size(), ex.getMessage());
+                    meterRegistry.counter("api.write-behind.deferred").increment();
+                    break;
+                }
+            }
+        }
+        compactIfNeeded();
+    }
+
+    @Override
+    public void destroy() throws IOException {
+        journal.close();
+    }
+
+    // a batch sent before without an outcome goes out again exactly as it was, else the next batch-size queued creates
+    private synchronized List<Item> nextBatch() {
+        List<Item> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+        String sent = pending.isEmpty() ? null : pending.getFirst().batch;
+        Iterator<Item> iterator = pending.iterator();
+        while ((sent != null || batch.size() < batchSize) && iterator.hasNext()) {
+            Item item = iterator.next();
+            if (!Objects.equals(item.batch, sent)) {
+                break;
+            }
+            batch.add(item);
+        }
+        return batch;
+    }
+
+    // idempotency key of the batch, journaled with its creates before the batch is first sent
+    private synchronized String sending(List<Item> batch) {
+        if (batch.get(0).batch != null) {
+            return batch.get(0).batch;
+        }
+        String key = UUID.randomUUID().toString();
+        List<Entry> sent = new ArrayList<>(batch.size());
+        for (Item item : batch) {
+            item.batch = key;
+            sent.add(new Entry(Entry.SENT, item.trackingId, null, null, null, key));
+        }
+        journal.append(sent);
+        return key;
+    }
+
+    private synchronized void completed(List<Item> batch, List<EmployeeResponse> created, String error) {
+        List<Entry> outcomes = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            Item item = batch.get(i);
+            item.attempts++;
+            if (error == null) {
+                item.created(created.get(i));
+                outcomes.add(new Entry(Entry.CREATED, item.trackingId, null, item.employee, null));
+            } else {
+                item.failed(error);
+                outcomes.add(new Entry(Entry.FAILED, item.trackingId, null, null, error));
+            }
+            pending.remove(item);
+        }
+        journal.append(outcomes);
+        forgetOldest();
+    }
+
+    // false when the batch stays queued for another attempt
+    private boolean retry(List<Item> batch, boolean permanent, String error) {
+        synchronized (this) {
+            if (!permanent && batch.get(0).attempts + 1 < maxAttempts) {
+                batch.forEach(item -> item.attempts++);
+                return false;
+            }
+        }
+        log.warn("Write-behind batch of {} failed: {}", batch.size(), error);
+        completed(batch, null, error);
+        count("failed", batch.size());
+        return true;
+    }
+
+    // keeps every queued item, and the latest retained completed ones
+    private void forgetOldest() {
+        int excess = items.size() - pending.size() - retained;
+        Iterator<Item> iterator = items.values().iterator();
+        while (excess > 0 && iterator.hasNext()) {
+            if (iterator.next().state != State.QUEUED) {
+                iterator.remove();
+                excess--;
+            }
+        }
+    }
+
+    // once the log holds mostly outdated records, rewrite it with one record per item still known
+    private synchronized void compactIfNeeded() {
+        if (journal.appended() < 2 * items.size() + batchSize) {
+            return;
+        }
+        List<Entry> entries = new ArrayList<>(items.size());
+        for (Item item : items.values()) {
+            entries.add(
+                    switch (item.state) {
+                        case QUEUED -> new Entry(Entry.QUEUED, item.trackingId, item.request, null, null, item.batch);
+                        case CREATED -> new Entry(Entry.CREATED, item.trackingId, null, item.employee, null);
+                        case FAILED -> new Entry(Entry.FAILED, item.trackingId, null, null, item.error);
+                    });
+        }
+        journal.rewrite(entries);
+    }
+
+    private void replay(List<Entry> entries) {
+        for (Entry entry : entries) {
+            Item item = items.computeIfAbsent(entry.trackingId(), id -> new Item(id, entry.request()));
+            if (entry.batch() != null) {
+                item.batch = entry.batch();
+            }
+            switch (entry.op()) {
+                case Entry.CREATED -> item.created(entry.employee());
+                case Entry.FAILED -> item.failed(entry.error());
+                default -> {}
+            }
+        }
+        items.values().removeIf(item -> item.state == State.QUEUED && item.request == null);
+        items.values().stream().filter(item -> item.state == State.QUEUED).forEach(pending::addLast);
+        forgetOldest();
+    }
+
+    private void count(String result, int creates) {
+        meterRegistry.counter("api.write-behind.flushed", "result", result).increment(creates);
+    }
+
+    private static class Item {
+
+        final String trackingId;
+        final CreateEmployeeRequest request;
+        State state = State.QUEUED;
+        int attempts;
+        // idempotency key of the batch it was sent in, null until then
+        String batch;
+        EmployeeResponse employee;
+        String error;
+
+        Item(String trackingId, CreateEmployeeRequest request) {
+            this.trackingId = trackingId;
+            this.request = request;
+        }
+
+        void created(EmployeeResponse employee) {
+            this.state = State.CREATED;
+            this.employee = employee;
+        }
+
+        void failed(String error) {
+            this.state = State.FAILED;
+            this.error = error;
+        }
+
+        QueuedCreateStatus status() {
+            return new QueuedCreateStatus(trackingId, state, attempts, employee, error);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.reliaquest.api.dto.response.EmployeeResponse;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class EmployeeTableTest {
+
+    @Test
+    void get_materializesRowsWithNullsAndMultiByteText() {
+        EmployeeResponse full = EmployeeResponse.builder()
+                .id("1")
+                .name("Zoë Ünal")
+                .salary(90_000)
+                .age(41)
+                .title("Engineer")
+                .email("zoe@company.com")
+                .build();
+        EmployeeResponse sparse = EmployeeResponse.builder().id("2").build();
+
+        EmployeeTable table = EmployeeTable.of(List.of(full, sparse));
+
+        assertEquals(full, table.get(0));
+        assertEquals(sparse, table.get(1));
+        assertEquals(EmployeeTable.NONE, table.salary(1));
+        assertFalse(table.hasName(1));
+        assertEquals(List.of(full, sparse), table.asList());
+    }
+
+    @Test
+    void indexOf_findsEveryId() {
+        List<EmployeeResponse> employees = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            employees.add(EmployeeResponse.builder()
+                    .id("id-" + i)
+                    .name("Employee " + i)
+                    .title("Title " + (i % 7))
+                    .build());
+        }
+        employees.add(EmployeeResponse.builder().name("No Id").build());
+
+        EmployeeTable table = EmployeeTable.of(employees);
+
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(i, table.indexOf("id-" + i));
+        }
+        assertEquals(-1, table.indexOf("id-1000"));
+        assertEquals(-1, table.indexOf(null));
+        assertEquals("Title 3", table.get(10).getTitle());
+    }
+
+    @Test
+    void withAppendedAndWithoutRow_matchTablesBuiltFromScratch() {
+        Random random = new Random(42);
+        List<EmployeeResponse> expected = new ArrayList<>();
+        EmployeeTable table = EmployeeTable.of(List.of());
+        for (int i = 0; i < 300; i++) {
+            if (!expected.isEmpty() && random.nextInt(3) == 0) {
+                int row = random.nextInt(expected.size());
+                expected.remove(row);
+                table = table.withoutRow(row);
+            } else {
+                EmployeeResponse employee = EmployeeResponse.builder()
+                        .id(random.nextInt(10) == 0 ? null : "id-" + i)
+                        .name(random.nextInt(10) == 0 ? null : "Zoë " + i)
+                        .salary(random.nextInt(10) == 0 ? null : random.nextInt(100_000))
+                        .age(30)
+                        .title(random.nextInt(10) == 0 ? null : "Title " + random.nextInt(20))
+                        .email(random.nextInt(10) == 0 ? null : "e" + i + "@company.com")
+                        .build();
+                expected.add(employee);
+                table = table.withAppended(employee);
+            }
+            assertEquals(expected, table.asList());
+        }
+        EmployeeTable rebuilt = EmployeeTable.of(expected);
+        for (int i = 0; i < 300; i++) {
+            assertEquals(rebuilt.indexOf("id-" + i), table.indexOf("id-" + i));
+        }
+    }
+
+    @Test
+    void roster_concatenatesTablesAndRebuildsOnlyChangedOnes() {
+        EmployeeResponse a = EmployeeResponse.builder().id("a").salary(1).build();
+        EmployeeResponse b = EmployeeResponse.builder().id("b").salary(2).build();
+        Roster roster = new Roster(1, Instant.EPOCH, List.of(List.of(a), List.of(), List.of(b)));
+
+        assertEquals(List.of(a, b), roster.getEmployees());
+        assertEquals(b, roster.getEmployee("b"));
+
+        assertEquals(List.of(b), roster.select(List.of(new int[0], new int[0], new int[] {0})));
+        assertEquals(List.of(a, b), roster.select(List.of(new int[] {0}, new int[0], new int[] {0})));
+        assertEquals(List.of(), roster.select(List.of(new int[0], new int[0], new int[0])));
+
+        Roster changed = roster.without("b");
+        assertNull(changed.getEmployee("b"));
+        assertEquals(1, changed.size());
+        assertEquals(roster.getTables().get(0), changed.getTables().get(0));
+    }
+}
@@ -0,0 +1,107 @@
+package com.reliaquest.api.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.cache.RosterSnapshotStore.Snapshot;
+import com.reliaquest.api.dto.response.EmployeeResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class RosterSnapshotStoreTest {
+
+    private static final String UPSTREAM = "http://localhost:8112/api/v1/employee";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void write_thenRead_restoresRoster() throws Exception {
+        Path path = tempDir.resolve("roster.snapshot");
+        Roster roster = new Roster(
+                42,
+                Instant.now(),
+                List.of(
+                        List.of(employee("1", "Tiger Nixon", 320800), employee("2", "Zoë Ünal", null)),
+                        List.of(employee("3", "Bill Bob", 89750))));
+
+        RosterSnapshotStore.write(path, UPSTREAM, new Snapshot(roster, Map.of(UPSTREAM, "\"v42\"")));
+        Optional<Snapshot> restored = RosterSnapshotStore.read(path, UPSTREAM, Duration.ofHours(1));
+
+        assertTrue(restored.isPresent());
+        assertEquals(42, restored.get().roster().getVersion());
+        assertEquals(roster.getPartitions(), restored.get().roster().getPartitions());
+        assertEquals("Zoë Ünal", restored.get().roster().getEmployee("2").getName());
+        assertNull(restored.get().roster().getEmployee("2").getSalary());
+        assertEquals(Map.of(UPSTREAM, "\"v42\""), restored.get().eTags());
+    }
+
+    @Test
+    void restore_keepsLoadedAt_soAnOldSnapshotIsStale() throws Exception {
+        Path path = tempDir.resolve("roster.snapshot");
+        Instant loadedAt = Instant.now().minus(Duration.ofMinutes(10)).truncatedTo(ChronoUnit.MILLIS);
+        RosterSnapshotStore.write(
+                path,
+                UPSTREAM,
+                new Snapshot(
+                        new Roster(3, loadedAt, List.of(List.of(employee("1", "Tiger Nixon", 1)))),
+                        Map.of(UPSTREAM, "\"v3\"")));
+        Snapshot snapshot =
+                RosterSnapshotStore.read(path, UPSTREAM, Duration.ofHours(1)).orElseThrow();
+        RosterCache cache = new RosterCache(Duration.ofSeconds(30), Clock.systemUTC());
+
+        cache.restore(snapshot.roster(), snapshot.eTags());
+
+        assertEquals(loadedAt, cache.current().orElseThrow().getLoadedAt());
+        assertTrue(cache.fresh().isEmpty());
+        assertEquals("\"v3\"", cache.eTag(UPSTREAM));
+    }
+
+    @Test
+    void read_ignoresSnapshotOfOtherUpstream() throws Exception {
+        Path path = tempDir.resolve("roster.snapshot");
+        RosterSnapshotStore.write(path, UPSTREAM, snapshot(new Roster(1, Instant.now(), List.of(List.of()))));
+
+        assertTrue(RosterSnapshotStore.read(path, "http://elsewhere:8112/api/v1/employee", Duration.ofHours(1))
+                .isEmpty());
+    }
+
+    @Test
+    void read_ignoresCorruptSnapshot() throws Exception {
+        Path path = tempDir.resolve("roster.snapshot");
+        RosterSnapshotStore.write(
+                path,
+                UPSTREAM,
+                snapshot(new Roster(1, Instant.now(), List.of(List.of(employee("1", "Tiger Nixon", 1))))));
+        byte[] bytes = Files.readAllBytes(path);
+        bytes[bytes.length / 2] ^= 0x7f;
+        Files.write(path, bytes);
+
+        assertTrue(RosterSnapshotStore.read(path, UPSTREAM, Duration.ofHours(1)).isEmpty());
+    }
+
+    private static Snapshot snapshot(Roster roster) {
+        return new Snapshot(roster, Map.of());
+    }
+
+    private static EmployeeResponse employee(String id, String name, Integer salary) {
+        return EmployeeResponse.builder()
+                .id(id)
+                .name(name)
+                .salary(salary)
+                .age(30)
+                .title("Developer")
+                .email("test@company.com")
+                .build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.reliaquest.api.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import com.reliaquest.api.dto.response.ApiResponse;
+import com.reliaquest.api.dto.response.EmployeeResponse;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+class ApiConfigurationTest {
+
+    private static final String API_URL = "http://localhost:8112/api/v1/employee";
+
+    private final EmployeeResponse employee = EmployeeResponse.builder()
+            .id("4a3a170b-22cd-4ac2-aad1-9bb5b34a1507")
+            .name("Tiger Nixon")
+            .salary(320800)
+            .age(61)
+            .title("Vice Chair")
+            .email("tnixon@company.com")
+            .build();
+
+    @Test
+    void restTemplate_prefersSmile_andDecodesIt() throws Exception {
+        RestTemplate restTemplate = new ApiConfiguration().restTemplate(new RestTemplateBuilder(), WireFormat.SMILE);
+        MockRestServiceServer server =
+                MockRestServiceServer.bindTo(restTemplate).build();
+
+        ApiResponse<EmployeeResponse> body = new ApiResponse<>();
+        body.setData(employee);
+        server.expect(requestTo(API_URL + "/" + employee.getId()))
+                .andExpect(header("Accept", Matchers.startsWith("application/x-jackson-smile")))
+                .andRespond(withSuccess(
+                        WireFormat.SMILE.objectMapper().writeValueAsBytes(body), WireFormat.SMILE.getMediaType()));
+
+        ApiResponse<EmployeeResponse> response = restTemplate
+                .exchange(
+                        API_URL + "/" + employee.getId(),
+                        HttpMethod.GET,
+                        null,
+                        new ParameterizedTypeReference<ApiResponse<EmployeeResponse>>() {})
+                .getBody();
+        assertEquals(employee, response.getData());
+        server.verify();
+    }
+
+    @Test
+    void restTemplate_fallsBackToJson_andWritesJsonBodies() {
+        RestTemplate restTemplate = new ApiConfiguration().restTemplate(new RestTemplateBuilder(), WireFormat.CBOR);
+        MockRestServiceServer server =
+                MockRestServiceServer.bindTo(restTemplate).build();
+
+        server.expect(requestTo(API_URL))
+                .andExpect(header("Accept", Matchers.containsString("application/json")))
+                .andExpect(header("Content-Type", Matchers.startsWith(MediaType.APPLICATION_JSON_VALUE)))
+                .andRespond(withSuccess(
+                        "{\"data\":{\"id\":\"1\",\"employee_name\":\"Tiger Nixon\"}}", MediaType.APPLICATION_JSON));
+
+        ApiResponse<EmployeeResponse> response = restTemplate
+                .exchange(
+                        API_URL,
+                        HttpMethod.POST,
+                        new HttpEntity<>(employee),
+                        new ParameterizedTypeReference<ApiResponse<EmployeeResponse>>() {})
+                .getBody();
+        assertEquals("Tiger Nixon", response.getData().getName());
+        server.verify();
+    }
+}
@@ -8,22 +8,33 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.api.cache.RosterCache;
 import com.reliaquest.api.dto.request.CreateEmployeeRequest;
+import com.reliaquest.api.dto.response.EmployeeField;
+import com.reliaquest.api.dto.response.EmployeeLookupResult;
 import com.reliaquest.api.dto.response.EmployeeResponse;
+import com.reliaquest.api.dto.response.EmployeeSummaryResponse;
+import com.reliaquest.api.dto.response.SalaryStatsResponse;
 import com.reliaquest.api.exception.EmployeeServiceException;
 import com.reliaquest.api.service.EmployeeService;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration;
+import org.springframework.boot.actuate.autoconfigure.metrics.export.simple.SimpleMetricsExportAutoConfiguration;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 @WebMvcTest(EmployeeController.class)
+@ImportAutoConfiguration({MetricsAutoConfiguration.class, SimpleMetricsExportAutoConfiguration.class})
 public class EmployeeControllerTest {
 
     @Autowired
@@ -32,6 +43,10 @@ public class EmployeeControllerTest {
     @MockBean
     private EmployeeService employeeService;
 
+    // no roster cached, so the ETag filter stays out of the way
+    @MockBean
+    private RosterCache rosterCache;
+
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     @Test
@@ -69,6 +84,91 @@ public class EmployeeControllerTest {
                 .andExpect(jsonPath("$[1].employee_name").value("Yash Joshi"));
     }
 
+    @Test
+    void getEmployeesByFuzzyNameSearch_usesFuzzyMode() throws Exception {
+        when(employeeService.getEmployeesByFuzzyNameSearch("Jsohi", 1))
+                .thenReturn(List.of(createEmployee("Abhishek Joshi", 50000)));
+        mockMvc.perform(get("/api/v1/employees/search/Jsohi?fuzzy=true&maxEdits=1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].employee_name").value("Abhishek Joshi"));
+    }
+
+    @Test
+    void getEmployeesByFuzzyNameSearch_returnsBadRequest_forTooManyEdits() throws Exception {
+        when(employeeService.getEmployeesByFuzzyNameSearch("Josh", 9))
+                .thenThrow(new IllegalArgumentException("maxEdits must be between 0 and 3"));
+        mockMvc.perform(get("/api/v1/employees/search/Josh?fuzzy=true&maxEdits=9"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getEmployees_serializesOnlyRequestedFields() throws Exception {
+        List<EmployeeResponse> employees = List.of(createEmployee("Abhishek Joshi", 50000));
+        when(employeeService.getEmployees("Josh", EnumSet.of(EmployeeField.NAME, EmployeeField.SALARY)))
+                .thenReturn(employees);
+        mockMvc.perform(get("/api/v1/employees/list?fields=employee_name,salary&search=Josh"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].employee_name").value("Abhishek Joshi"))
+                .andExpect(jsonPath("$[0].employee_salary").value(50000))
+                .andExpect(jsonPath("$[0].id").doesNotExist())
+                .andExpect(jsonPath("$[0].employee_email").doesNotExist());
+    }
+
+    @Test
+    void getEmployees_returnsBadRequest_forUnknownField() throws Exception {
+        mockMvc.perform(get("/api/v1/employees/list?fields=employee_name,password"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void getSalaryStatistics_returnsStats() throws Exception {
+        when(employeeService.getSalaryStatistics())
+                .thenReturn(SalaryStatsResponse.builder()
+                        .count(2)
+                        .average(55000)
+                        .percentiles(Map.of("p50", 50000))
+                        .build());
+        mockMvc.perform(get("/api/v1/employees/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.count").value(2))
+                .andExpect(jsonPath("$.percentiles.p50").value(50000));
+    }
+
+    @Test
+    void getEmployeeSummary_returnsAllParts() throws Exception {
+        when(employeeService.getEmployeeSummary("Josh"))
+                .thenReturn(EmployeeSummaryResponse.builder()
+                        .rosterVersion(3)
+                        .highestSalary(60000)
+                        .topTenHighestEarningEmployeeNames(List.of("Yash Joshi", "Abhishek Joshi"))
+                        .searchResults(List.of(createEmployee("Yash Joshi", 60000)))
+                        .build());
+        mockMvc.perform(get("/api/v1/employees/summary?search=Josh"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.highestSalary").value(60000))
+                .andExpect(
+                        jsonPath("$.topTenHighestEarningEmployeeNames.length()").value(2))
+                .andExpect(jsonPath("$.searchResults[0].employee_name").value("Yash Joshi"));
+    }
+
+    @Test
+    void getEmployeesByIds_returnsResultsInRequestOrder() throws Exception {
+        EmployeeResponse employee = createEmployee("Abhishek Joshi", 50000);
+        when(employeeService.getEmployeesByIds(List.of("missing", employee.getId())))
+                .thenReturn(List.of(
+                        EmployeeLookupResult.of("missing", null), EmployeeLookupResult.of(employee.getId(), employee)));
+        mockMvc.perform(post("/api/v1/employees/lookup")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\":[\"missing\",\"" + employee.getId() + "\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].id").value("missing"))
+                .andExpect(jsonPath("$[0].found").value(false))
+                .andExpect(jsonPath("$[0].employee").doesNotExist())
+                .andExpect(jsonPath("$[1].employee.employee_name").value("Abhishek Joshi"));
+    }
+
     @Test
     void getEmployeesByNameSearch_returnsEmptyList_whenNoMatches() throws Exception {
         when(employeeService.getEmployeesByNameSearch("rohit")).thenReturn(Collections.emptyList());
@@ -145,6 +245,31 @@ public class EmployeeControllerTest {
                 .andExpect(jsonPath("$.employee_salary").value(80000));
     }
 
+    @Test
+    void createEmployee_withIdempotencyKey_usesKeyedCreate() throws Exception {
+        CreateEmployeeRequest request = CreateEmployeeRequest.builder()
+                .name("Test Employee")
+                .salary(80000)
+                .age(30)
+                .title("Engineer")
+                .build();
+        when(employeeService.createEmployee(request, "retry-key")).thenReturn(createEmployee("Test Employee", 80000));
+        mockMvc.perform(post("/api/v1/employees")
+                        .header(EmployeeController.IDEMPOTENCY_KEY, "retry-key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.employee_name").value("Test Employee"));
+
+        when(employeeService.createEmployee(request, "reused-key"))
+                .thenThrow(new IllegalArgumentException("Idempotency-Key was already used for a different request"));
+        mockMvc.perform(post("/api/v1/employees")
+                        .header(EmployeeController.IDEMPOTENCY_KEY, "reused-key")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isUnprocessableEntity());
+    }
+
     @Test
     void deleteEmployeeById_returnsEmployeeName_whenDeleted() throws Exception {
         String employeeId = UUID.randomUUID().toString();
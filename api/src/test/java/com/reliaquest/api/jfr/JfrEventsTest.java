@@ -0,0 +1,98 @@
+package com.reliaquest.api.jfr;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.dto.response.EmployeeResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+class JfrEventsTest {
+
+    private static final String URL = "http://localhost:8112/api/v1/employee";
+    private static final String BODY = "{\"data\":[],\"status\":\"ok\"}";
+
+    private final RestTemplate restTemplate = new RestTemplate();
+    private final MockRestServiceServer server;
+
+    JfrEventsTest() {
+        restTemplate.getInterceptors().add(new UpstreamEventInterceptor());
+        server = MockRestServiceServer.bindTo(restTemplate).build();
+    }
+
+    @Test
+    void intercept_countsBodyBytes_whileRecorded() {
+        server.expect(requestTo(URL)).andRespond(withSuccess(BODY, MediaType.APPLICATION_JSON));
+
+        UpstreamExchangeEvent event = new UpstreamExchangeEvent();
+        try (Recording recording = new Recording()) {
+            recording.enable(UpstreamExchangeEvent.class);
+            recording.start();
+            event.track();
+            try {
+                restTemplate.exchange(URL, HttpMethod.POST, new HttpEntity<>("{}"), String.class);
+            } finally {
+                event.untrack();
+            }
+        }
+
+        assertEquals(2, event.requestBytes);
+        assertEquals(BODY.length(), event.responseBytes);
+        assertNull(UpstreamExchangeEvent.current());
+    }
+
+    @Test
+    void intercept_leavesExchangesAlone_withoutRecording() {
+        server.expect(requestTo(URL)).andRespond(withSuccess(BODY, MediaType.APPLICATION_JSON));
+
+        UpstreamExchangeEvent event = new UpstreamExchangeEvent();
+        event.track();
+        String body = restTemplate.getForObject(URL, String.class);
+        event.untrack();
+
+        assertEquals(BODY, body);
+        assertNull(UpstreamExchangeEvent.current());
+        assertEquals(0, event.responseBytes);
+    }
+
+    @Test
+    void rosterCache_recordsLoadsAndHits(@TempDir Path dir) throws Exception {
+        RosterCache cache = new RosterCache(Duration.ofMinutes(1), new SimpleMeterRegistry());
+        EmployeeResponse employee =
+                EmployeeResponse.builder().id("1").name("Ann").salary(10).build();
+        Path file = dir.resolve("cache.jfr");
+
+        try (Recording recording = new Recording()) {
+            recording.enable(RosterCacheEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+            cache.getOrLoad(() -> List.of(List.of(employee)));
+            cache.getOrLoad(() -> List.of());
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                .filter(event -> event.getEventType().getName().equals("com.reliaquest.api.RosterCache"))
+                .toList();
+        assertEquals(
+                List.of("loaded", "hit"),
+                events.stream().map(event -> event.getString("outcome")).toList());
+        assertEquals(1, events.get(1).getLong("version"));
+        assertEquals(1, events.get(1).getInt("employees"));
+    }
+}
@@ -0,0 +1,66 @@
+package com.reliaquest.api.memo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class RequestMemoTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void get_loadsOncePerMemo_includingNull() {
+        RequestMemo.within(() -> {
+            assertEquals(1, RequestMemo.get("key", loads::incrementAndGet));
+            assertEquals(1, RequestMemo.get("key", loads::incrementAndGet));
+            assertNull(RequestMemo.get("missing", () -> load(null)));
+            assertNull(RequestMemo.get("missing", () -> load(null)));
+            return null;
+        });
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void get_loadsEveryTime_withoutMemo() {
+        RequestMemo.get("key", loads::incrementAndGet);
+        RequestMemo.get("key", loads::incrementAndGet);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void clear_forgetsEverything() {
+        RequestMemo.within(() -> {
+            RequestMemo.get("key", loads::incrementAndGet);
+            RequestMemo.clear();
+            return RequestMemo.get("key", loads::incrementAndGet);
+        });
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void within_joinsAnOpenMemo() {
+        assertTrue(RequestMemo.open());
+        try {
+            assertFalse(RequestMemo.open());
+            RequestMemo.get("key", loads::incrementAndGet);
+            RequestMemo.within(() -> RequestMemo.get("key", loads::incrementAndGet));
+            RequestMemo.get("key", loads::incrementAndGet);
+        } finally {
+            RequestMemo.close();
+        }
+
+        assertEquals(1, loads.get());
+    }
+
+    private Object load(Object value) {
+        loads.incrementAndGet();
+        return value;
+    }
+}
@@ -0,0 +1,70 @@
+package com.reliaquest.api.search;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.dto.response.EmployeeResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class NameIndexTest {
+
+    private final RosterCache rosterCache = new RosterCache(Duration.ofSeconds(30), new SimpleMeterRegistry());
+    private final NameIndex index = new NameIndex(rosterCache);
+
+    @Test
+    void distance_countsInsertionsDeletionsAndSubstitutions() {
+        assertEquals(0, NameIndex.distance("joshi", "joshi"));
+        assertEquals(1, NameIndex.distance("jon", "john"));
+        assertEquals(2, NameIndex.distance("joshi", "jsohi"));
+        assertEquals(3, NameIndex.distance("kitten", "sitting"));
+        assertEquals(4, NameIndex.distance("", "ravi"));
+    }
+
+    @Test
+    void search_foldsAccentsAndCase_andRanksByDistance() {
+        rosterCache.getOrLoad(() -> List.of(
+                List.of(employee("1", "José Álvarez"), employee("2", "Jose Alvares")),
+                List.of(employee("3", "Josef Alvarez"), employee("4", "Ravi Kumar"))));
+
+        List<String> names = index.search("JOSE alvarez", 2).stream()
+                .map(EmployeeResponse::getName)
+                .toList();
+
+        assertEquals(List.of("José Álvarez", "Jose Alvares", "Josef Alvarez"), names);
+        assertEquals(List.of("José Álvarez"), names(index.search("jose alvarez", 0)));
+    }
+
+    @Test
+    void search_limitsEditsForShortWords() {
+        rosterCache.getOrLoad(() -> List.of(List.of(employee("1", "Al Smith"), employee("2", "Bo Jones"))));
+
+        // two letters allow a single edit only, so "al" doesn't reach "bo"
+        assertEquals(List.of("Al Smith"), names(index.search("al", 3)));
+        assertThrows(IllegalArgumentException.class, () -> index.search("al", NameIndex.MAX_EDITS + 1));
+    }
+
+    @Test
+    void addAndRemove_updateIndexIncrementally() {
+        rosterCache.getOrLoad(() -> List.of(List.of(employee("1", "Ravi Kumar"))));
+
+        rosterCache.add(0, employee("2", "Ravi Kumaar"));
+        assertEquals(List.of("Ravi Kumar", "Ravi Kumaar"), names(index.search("ravi kumar", 1)));
+
+        rosterCache.remove("1");
+        assertEquals(List.of("Ravi Kumaar"), names(index.search("ravi kumar", 1)));
+        assertTrue(index.search("nobody", 1).isEmpty());
+    }
+
+    private static List<String> names(List<EmployeeResponse> employees) {
+        return employees.stream().map(EmployeeResponse::getName).toList();
+    }
+
+    private static EmployeeResponse employee(String id, String name) {
+        return EmployeeResponse.builder().id(id).name(name).salary(50_000).build();
+    }
+}
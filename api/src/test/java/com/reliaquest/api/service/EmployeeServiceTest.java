@@ -1,27 +1,63 @@
 package com.reliaquest.api.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import com.reliaquest.api.cache.Roster;
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.config.ApiConfiguration;
 import com.reliaquest.api.dto.request.CreateEmployeeRequest;
 import com.reliaquest.api.dto.response.ApiResponse;
+import com.reliaquest.api.dto.response.EmployeeField;
+import com.reliaquest.api.dto.response.EmployeeLookupResult;
 import com.reliaquest.api.dto.response.EmployeeResponse;
+import com.reliaquest.api.dto.response.EmployeeSummaryResponse;
+import com.reliaquest.api.dto.response.SalaryStatsResponse;
 import com.reliaquest.api.exception.EmployeeServiceException;
+import com.reliaquest.api.memo.RequestMemo;
+import com.reliaquest.api.search.NameIndex;
 import com.reliaquest.api.service.Impl.EmployeeServiceImpl;
+import com.reliaquest.api.service.Impl.IdempotencyStore;
+import com.reliaquest.api.service.Impl.LookupHedger;
+import com.reliaquest.api.service.Impl.RosterReducer;
+import com.reliaquest.api.service.Impl.UpstreamBudget;
+import com.reliaquest.api.stats.SalaryStatistics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.task.SyncTaskExecutor;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
@@ -36,10 +72,49 @@ class EmployeeServiceTest {
     @Mock
     private RestTemplate restTemplate;
 
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Spy
+    private Executor upstreamExecutor = new SyncTaskExecutor();
+
+    @Spy
+    private LookupHedger lookupHedger = new LookupHedger(
+            false,
+            List.of(),
+            0.95,
+            Duration.ofMillis(50),
+            Duration.ofMillis(5),
+            0.05,
+            new SyncTaskExecutor(),
+            new SimpleMeterRegistry());
+
+    @Spy
+    private RosterCache rosterCache = new RosterCache(Duration.ofSeconds(30), new SimpleMeterRegistry());
+
+    @Spy
+    private SalaryStatistics salaryStatistics = new SalaryStatistics(rosterCache, 0.01);
+
+    @Spy
+    private UpstreamBudget upstreamBudget = new UpstreamBudget(Duration.ofMinutes(1), 5, 2, Clock.systemUTC());
+
+    @Spy
+    private NameIndex nameIndex = new NameIndex(rosterCache);
+
+    @Spy
+    private IdempotencyStore idempotencyStore = new IdempotencyStore(Duration.ofHours(1), 100, Clock.systemUTC());
+
+    // parallel from 4 rows on, so the small test rosters go through the fork/join split
+    @Spy
+    private RosterReducer rosterReducer = new RosterReducer(2, 4, 1);
+
     @InjectMocks
     private EmployeeServiceImpl employeeService;
 
     private static final String API_URL = "http://localhost:8112/api/v1/employee";
+    private static final String SHARD_A = "http://shard-a:8112/api/v1/employee";
+    private static final String SHARD_B = "http://shard-b:8112/api/v1/employee";
+    private static final String REPLICA = "http://replica:8112/api/v1/employee";
 
     @BeforeEach
     void setUp() {
@@ -72,6 +147,22 @@ class EmployeeServiceTest {
         assertThrows(EmployeeServiceException.class, () -> employeeService.getAllEmployees());
     }
 
+    @Test
+    void getAllEmployees_recordsUpstreamTiming_taggedWithStatus() {
+        HttpClientErrorException exception =
+                new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS, "Rate limit exceeded");
+        when(restTemplate.exchange(eq(API_URL), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class)))
+                .thenThrow(exception);
+        assertThrows(EmployeeServiceException.class, () -> employeeService.getAllEmployees());
+
+        Timer timer = meterRegistry
+                .find(EmployeeServiceImpl.UPSTREAM_REQUESTS_METRIC)
+                .tags("operation", "getAllEmployees", "status", "429", "outcome", "CLIENT_ERROR")
+                .timer();
+        assertNotNull(timer);
+        assertEquals(1, timer.count());
+    }
+
     @Test
     void getEmployeesByNameSearch_returnsMatchingEmployees() {
         EmployeeResponse[] employees = {
@@ -107,6 +198,23 @@ class EmployeeServiceTest {
         assertTrue(result.isEmpty());
     }
 
+    @Test
+    void getEmployeesByFuzzyNameSearch_ranksByDistance() {
+        EmployeeResponse[] employees = {
+            createEmployee("Jon Smith", 50000), createEmployee("John Smith", 60000), createEmployee("Ravi Kumar", 70000)
+        };
+
+        ApiResponse<EmployeeResponse[]> apiResponse = new ApiResponse<>();
+        apiResponse.setData(employees);
+        when(restTemplate.exchange(eq(API_URL), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(apiResponse, HttpStatus.OK));
+        List<EmployeeResponse> result = employeeService.getEmployeesByFuzzyNameSearch("john smiht", 2);
+
+        assertEquals(
+                List.of("John Smith", "Jon Smith"),
+                result.stream().map(EmployeeResponse::getName).toList());
+    }
+
     // same result when we pass input as blank(" ")
     @Test
     void getEmployeesByNameSearch_returnsEmptyList() {
@@ -134,6 +242,160 @@ class EmployeeServiceTest {
         assertEquals(50000, result.getSalary());
     }
 
+    @Test
+    void getEmployeesByIds_servesHitsLocally_andLooksUpMissesById() {
+        EmployeeResponse cached = createEmployee("Abhishek J", 50000);
+        EmployeeResponse uncached = createEmployee("Ravi Kumar", 60000);
+        stubAllEmployees(API_URL, new EmployeeResponse[] {cached});
+        ApiResponse<EmployeeResponse> apiResponse = new ApiResponse<>();
+        apiResponse.setData(uncached);
+        when(restTemplate.exchange(
+                        eq(API_URL + "/" + uncached.getId()),
+                        eq(HttpMethod.GET),
+                        any(),
+                        any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(apiResponse, HttpStatus.OK));
+        when(restTemplate.exchange(
+                        eq(API_URL + "/missing"), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class)))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND));
+        employeeService.getAllEmployees();
+
+        List<EmployeeLookupResult> results =
+                employeeService.getEmployeesByIds(List.of(uncached.getId(), "missing", cached.getId()));
+
+        assertEquals(
+                List.of(
+                        EmployeeLookupResult.of(uncached.getId(), uncached),
+                        EmployeeLookupResult.of("missing", null),
+                        EmployeeLookupResult.of(cached.getId(), cached)),
+                results);
+        assertFalse(results.get(1).isFound());
+    }
+
+    @Test
+    void getEmployeesByIds_completes_whenConcurrentBulkLookupsOutnumberUpstreamThreads() throws Exception {
+        ApiConfiguration configuration = new ApiConfiguration();
+        ExecutorService upstream = configuration.upstreamExecutor(2);
+        ExecutorService bulk = configuration.bulkLookupExecutor(2);
+        ExecutorService clients = Executors.newFixedThreadPool(6);
+        try {
+            // every lookup is hedged, so each bulk worker waits on tasks of its own in the upstream pool
+            SimpleMeterRegistry registry = new SimpleMeterRegistry();
+            LookupHedger hedger = new LookupHedger(
+                    true,
+                    List.of(API_URL + "=" + REPLICA),
+                    0.95,
+                    Duration.ofMillis(1),
+                    Duration.ofMillis(1),
+                    1.0,
+                    upstream,
+                    registry);
+            RosterCache uncached = new RosterCache(Duration.ZERO, registry);
+            EmployeeServiceImpl service = new EmployeeServiceImpl(
+                    restTemplate,
+                    registry,
+                    upstream,
+                    bulk,
+                    hedger,
+                    uncached,
+                    new SalaryStatistics(uncached, 0.01),
+                    new UpstreamBudget(Duration.ofMinutes(1), Integer.MAX_VALUE, 0, Clock.systemUTC()),
+                    new NameIndex(uncached),
+                    new IdempotencyStore(Duration.ofHours(1), 100, Clock.systemUTC()),
+                    RosterReducer.sequential());
+            ReflectionTestUtils.setField(service, "mockApiBaseUrl", API_URL);
+            when(restTemplate.exchange(
+                            any(String.class), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class)))
+                    .thenAnswer(invocation -> {
+                        Thread.sleep(10);
+                        String url = invocation.getArgument(0);
+                        ApiResponse<EmployeeResponse> apiResponse = new ApiResponse<>();
+                        apiResponse.setData(EmployeeResponse.builder()
+                                .id(url.substring(url.lastIndexOf('/') + 1))
+                                .name("Abhishek J")
+                                .build());
+                        return new ResponseEntity<>(apiResponse, HttpStatus.OK);
+                    });
+
+            List<Future<List<EmployeeLookupResult>>> lookups = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                List<String> ids = List.of("a" + i, "b" + i, "c" + i, "d" + i);
+                lookups.add(clients.submit(() -> service.getEmployeesByIds(ids)));
+            }
+            for (Future<List<EmployeeLookupResult>> lookup : lookups) {
+                assertTrue(lookup.get(10, TimeUnit.SECONDS).stream().allMatch(EmployeeLookupResult::isFound));
+            }
+        } finally {
+            clients.shutdownNow();
+            bulk.shutdownNow();
+            upstream.shutdownNow();
+        }
+    }
+
+    @Test
+    void getEmployeesByIds_fetchesRosterOnce_forManyMisses() {
+        EmployeeResponse[] roster = new EmployeeResponse[10];
+        for (int i = 0; i < roster.length; i++) {
+            roster[i] = createEmployee("Employee " + i, 1000 * i);
+        }
+        stubAllEmployees(API_URL, roster);
+        List<String> ids = new ArrayList<>();
+        for (EmployeeResponse employee : roster) {
+            ids.add(employee.getId());
+        }
+        ids.add("missing");
+
+        List<EmployeeLookupResult> results = employeeService.getEmployeesByIds(ids);
+
+        assertEquals(11, results.size());
+        assertEquals(roster[3], results.get(3).getEmployee());
+        assertFalse(results.get(10).isFound());
+        verify(restTemplate, times(1))
+                .exchange(any(String.class), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    void getEmployeeSummary_readsTheRosterOnce() {
+        EmployeeResponse[] employees = {
+            createEmployee("Abhishek Joshi", 50000),
+            createEmployee("Ravi Kumar", 100000),
+            createEmployee("Yash Joshi", 75000)
+        };
+        stubAllEmployees(API_URL, employees);
+
+        EmployeeSummaryResponse summary = employeeService.getEmployeeSummary("josh");
+
+        assertEquals(100000, summary.getHighestSalary());
+        assertEquals(
+                List.of("Ravi Kumar", "Yash Joshi", "Abhishek Joshi"), summary.getTopTenHighestEarningEmployeeNames());
+        assertEquals(2, summary.getSearchResults().size());
+        verify(rosterCache, times(1)).getOrRevalidate(any());
+        verify(restTemplate, times(1))
+                .exchange(any(String.class), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    void getEmployeeById_fetchesOncePerRequest() {
+        EmployeeResponse employee = createEmployee("Abhishek J", 50000);
+        ApiResponse<EmployeeResponse> apiResponse = new ApiResponse<>();
+        apiResponse.setData(employee);
+        when(restTemplate.exchange(
+                        eq(API_URL + "/" + employee.getId()),
+                        eq(HttpMethod.GET),
+                        any(),
+                        any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(apiResponse, HttpStatus.OK));
+
+        EmployeeResponse result = RequestMemo.within(() -> {
+            employeeService.getEmployeeById(employee.getId());
+            return employeeService.getEmployeeById(employee.getId());
+        });
+
+        assertEquals("Abhishek J", result.getName());
+        verify(restTemplate, times(1))
+                .exchange(any(String.class), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class));
+    }
+
     @Test
     void getEmployeeById_returnsNull_whenNotFound() {
         HttpClientErrorException exception = new HttpClientErrorException(HttpStatus.NOT_FOUND, "Not found");
@@ -201,6 +463,51 @@ class EmployeeServiceTest {
         assertEquals(80000, result.getSalary());
     }
 
+    @Test
+    void createEmployee_withIdempotencyKey_postsOnce() {
+        CreateEmployeeRequest request = CreateEmployeeRequest.builder()
+                .name("Test Employee")
+                .salary(80000)
+                .age(30)
+                .title("Engineer")
+                .build();
+        ApiResponse<EmployeeResponse> apiResponse = new ApiResponse<>();
+        apiResponse.setData(createEmployee("Test Employee", 80000));
+        when(restTemplate.exchange(
+                        eq(API_URL), eq(HttpMethod.POST), any(HttpEntity.class), any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(apiResponse, HttpStatus.CREATED));
+
+        EmployeeResponse first = employeeService.createEmployee(request, "retry-key");
+        EmployeeResponse retried = employeeService.createEmployee(request, "retry-key");
+
+        assertEquals(first, retried);
+        verify(restTemplate, times(1))
+                .exchange(
+                        eq(API_URL), eq(HttpMethod.POST), any(HttpEntity.class), any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    void createEmployees_postsOneBatch_andWritesThrough() {
+        stubAllEmployees(API_URL, new EmployeeResponse[] {createEmployee("Abhishek J", 50000)});
+        employeeService.getAllEmployees();
+        EmployeeResponse[] created = {createEmployee("First", 60000), createEmployee("Second", 70000)};
+        ApiResponse<EmployeeResponse[]> apiResponse = new ApiResponse<>();
+        apiResponse.setData(created);
+        when(restTemplate.exchange(
+                        eq(API_URL + "/batch"),
+                        eq(HttpMethod.POST),
+                        any(HttpEntity.class),
+                        any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(apiResponse, HttpStatus.OK));
+
+        List<EmployeeResponse> result = employeeService.createEmployees(List.of(
+                CreateEmployeeRequest.builder().name("First").build(),
+                CreateEmployeeRequest.builder().name("Second").build()));
+
+        assertEquals(List.of(created), result);
+        assertEquals(3, employeeService.getAllEmployees().size());
+    }
+
     @Test
     void deleteEmployeeById_returnsEmployeeName_whenDeleted() {
         EmployeeResponse employee = createEmployee("Abhishek J", 50000);
@@ -240,6 +547,280 @@ class EmployeeServiceTest {
         assertNull(result);
     }
 
+    @Test
+    void getAllEmployees_servesCachedRoster_withinTtl() {
+        stubAllEmployees(API_URL, new EmployeeResponse[] {createEmployee("Abhishek J", 50000)});
+
+        employeeService.getAllEmployees();
+        assertEquals(50000, employeeService.getHighestSalaryOfEmployees());
+        assertEquals(1, employeeService.getEmployeesByNameSearch("abhi").size());
+
+        verify(restTemplate, times(1))
+                .exchange(eq(API_URL), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    void getEmployees_fetchesOnlyRequestedFields_whenRosterNotCached() {
+        EmployeeResponse projected =
+                EmployeeResponse.builder().name("Abhishek J").salary(50000).build();
+        stubAllEmployees(API_URL + "?fields=employee_name,employee_salary", new EmployeeResponse[] {
+            projected, EmployeeResponse.builder().name("Ravi").salary(60000).build()
+        });
+
+        List<EmployeeResponse> result = employeeService.getEmployees("abhi", EnumSet.of(EmployeeField.SALARY));
+
+        assertEquals(List.of(projected), result);
+        assertTrue(rosterCache.current().isEmpty());
+    }
+
+    @Test
+    void getEmployees_servesFreshRosterLocally() {
+        stubAllEmployees(API_URL, new EmployeeResponse[] {createEmployee("Abhishek J", 50000)});
+        employeeService.getAllEmployees();
+
+        assertEquals(
+                1,
+                employeeService
+                        .getEmployees(null, EnumSet.of(EmployeeField.NAME))
+                        .size());
+        verify(restTemplate, times(1))
+                .exchange(any(String.class), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    void getEmployees_revalidatesRoster_insteadOfFetchingFields_whenBudgetIsSpent() {
+        EmployeeResponse match = createEmployee("Abhishek J", 50000);
+        stubAllEmployees(API_URL, new EmployeeResponse[] {match, createEmployee("Ravi", 60000)});
+        upstreamBudget.record(HttpStatus.TOO_MANY_REQUESTS);
+
+        List<EmployeeResponse> result = employeeService.getEmployees("abhi", EnumSet.of(EmployeeField.SALARY));
+
+        assertEquals(List.of(match), result);
+        assertTrue(rosterCache.fresh().isPresent());
+        verify(restTemplate, never())
+                .exchange(
+                        eq(API_URL + "?fields=employee_name,employee_salary"),
+                        eq(HttpMethod.GET),
+                        any(),
+                        any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    void getEmployees_searchesFreshRosterRows() {
+        EmployeeResponse match = createEmployee("Abhishek J", 50000);
+        stubAllEmployees(API_URL, new EmployeeResponse[] {createEmployee("Ravi", 60000), match});
+        employeeService.getAllEmployees();
+
+        assertEquals(List.of(match), employeeService.getEmployees("ABHI", EnumSet.of(EmployeeField.NAME)));
+    }
+
+    @Test
+    void refreshRoster_keepsCachedRoster_whenUpstreamAnswersNotModified() {
+        ApiResponse<EmployeeResponse[]> apiResponse = new ApiResponse<>();
+        apiResponse.setData(new EmployeeResponse[] {createEmployee("Abhishek J", 50000)});
+        when(restTemplate.exchange(eq(API_URL), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.ok().eTag("v1").body(apiResponse))
+                .thenReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+        employeeService.getAllEmployees();
+        long version = rosterCache.current().orElseThrow().getVersion();
+
+        employeeService.refreshRoster();
+
+        ArgumentCaptor<HttpEntity<?>> request = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate, times(2))
+                .exchange(eq(API_URL), eq(HttpMethod.GET), request.capture(), any(ParameterizedTypeReference.class));
+        assertEquals(List.of("\"v1\""), request.getValue().getHeaders().getIfNoneMatch());
+        assertEquals(version, rosterCache.current().orElseThrow().getVersion());
+        assertEquals(1, employeeService.getAllEmployees().size());
+    }
+
+    @Test
+    void refreshRoster_revalidatesRestoredRoster_withItsSavedETag() {
+        Roster saved = new Roster(
+                7, Instant.now().minus(Duration.ofMinutes(10)), List.of(List.of(createEmployee("Abhishek J", 50000))));
+        rosterCache.restore(saved, Map.of(API_URL, "\"v7\""));
+        assertTrue(rosterCache.fresh().isEmpty());
+        when(restTemplate.exchange(eq(API_URL), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+
+        employeeService.refreshRoster();
+
+        ArgumentCaptor<HttpEntity<?>> request = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate)
+                .exchange(eq(API_URL), eq(HttpMethod.GET), request.capture(), any(ParameterizedTypeReference.class));
+        assertEquals(List.of("\"v7\""), request.getValue().getHeaders().getIfNoneMatch());
+        assertEquals(7, rosterCache.fresh().orElseThrow().getVersion());
+    }
+
+    @Test
+    void getAllEmployees_revalidatesStaleRestoredRoster_insteadOfFetchingItAgain() {
+        Roster saved = new Roster(
+                7, Instant.now().minus(Duration.ofMinutes(10)), List.of(List.of(createEmployee("Abhishek J", 50000))));
+        rosterCache.restore(saved, Map.of(API_URL, "W/\"v7\""));
+        when(restTemplate.exchange(eq(API_URL), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class)))
+                .thenReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+
+        List<EmployeeResponse> employees = employeeService.getAllEmployees();
+
+        ArgumentCaptor<HttpEntity<?>> request = ArgumentCaptor.forClass(HttpEntity.class);
+        verify(restTemplate)
+                .exchange(eq(API_URL), eq(HttpMethod.GET), request.capture(), any(ParameterizedTypeReference.class));
+        assertEquals(List.of("W/\"v7\""), request.getValue().getHeaders().getIfNoneMatch());
+        assertEquals(saved.getEmployees(), employees);
+        assertEquals(7, rosterCache.fresh().orElseThrow().getVersion());
+    }
+
+    @Test
+    void createEmployee_writesThroughToCachedRoster() {
+        stubAllEmployees(API_URL, new EmployeeResponse[] {createEmployee("Abhishek J", 50000)});
+        EmployeeResponse createdEmployee = createEmployee("Test Employee", 80000);
+        ApiResponse<EmployeeResponse> apiResponse = new ApiResponse<>();
+        apiResponse.setData(createdEmployee);
+        when(restTemplate.exchange(
+                        eq(API_URL), eq(HttpMethod.POST), any(HttpEntity.class), any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(apiResponse, HttpStatus.OK));
+
+        employeeService.getAllEmployees();
+        employeeService.createEmployee(CreateEmployeeRequest.builder()
+                .name("Test Employee")
+                .salary(80000)
+                .age(30)
+                .title("Engineer")
+                .build());
+
+        assertEquals(2, employeeService.getAllEmployees().size());
+        assertEquals(80000, employeeService.getHighestSalaryOfEmployees());
+        assertEquals(createdEmployee, employeeService.getEmployeeById(createdEmployee.getId()));
+    }
+
+    @Test
+    void getSalaryStatistics_followsCreatesWithoutReloading() {
+        stubAllEmployees(API_URL, new EmployeeResponse[] {createEmployee("Abhishek J", 50000)});
+        ApiResponse<EmployeeResponse> apiResponse = new ApiResponse<>();
+        apiResponse.setData(createEmployee("Test Employee", 90000));
+        when(restTemplate.exchange(
+                        eq(API_URL), eq(HttpMethod.POST), any(HttpEntity.class), any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(apiResponse, HttpStatus.OK));
+
+        assertEquals(1, employeeService.getSalaryStatistics().getCount());
+        employeeService.createEmployee(CreateEmployeeRequest.builder()
+                .name("Test Employee")
+                .salary(90000)
+                .age(30)
+                .build());
+
+        SalaryStatsResponse stats = employeeService.getSalaryStatistics();
+        assertEquals(2, stats.getCount());
+        assertEquals(70000, stats.getAverage());
+        assertEquals(90000, stats.getMax());
+        verify(restTemplate, times(1))
+                .exchange(eq(API_URL), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class));
+    }
+
+    @Test
+    void getTopTenHighestEarningEmployeeNames_mergesAcrossShards() {
+        ReflectionTestUtils.setField(employeeService, "shardBaseUrls", List.of(SHARD_A, SHARD_B));
+        EmployeeResponse[] shardA = new EmployeeResponse[8];
+        EmployeeResponse[] shardB = new EmployeeResponse[8];
+        for (int i = 0; i < 8; i++) {
+            shardA[i] = createEmployee("A" + i, 100000 - (i * 2000));
+            shardB[i] = createEmployee("B" + i, 99000 - (i * 2000));
+        }
+        stubAllEmployees(SHARD_A, shardA);
+        stubAllEmployees(SHARD_B, shardB);
+
+        List<String> result = employeeService.getTopTenHighestEarningEmployeeNames();
+        assertEquals(List.of("A0", "B0", "A1", "B1", "A2", "B2", "A3", "B3", "A4", "B4"), result);
+    }
+
+    @Test
+    void getHighestSalaryOfEmployees_takesMaxOfShardMaxes() {
+        ReflectionTestUtils.setField(employeeService, "shardBaseUrls", List.of(SHARD_A, SHARD_B));
+        stubAllEmployees(SHARD_A, new EmployeeResponse[] {createEmployee("A", 50000)});
+        stubAllEmployees(SHARD_B, new EmployeeResponse[] {createEmployee("B", 70000)});
+
+        assertEquals(70000, employeeService.getHighestSalaryOfEmployees());
+        assertEquals(2, employeeService.getAllEmployees().size());
+    }
+
+    @Test
+    void deleteEmployeeById_routesToOwningShard() {
+        ReflectionTestUtils.setField(employeeService, "shardBaseUrls", List.of(SHARD_A, SHARD_B));
+        EmployeeResponse employee = createEmployee("Abhishek J", 50000);
+        while (EmployeeServiceImpl.shardIndex(employee.getId(), 2) != 0) {
+            employee.setId(UUID.randomUUID().toString());
+        }
+        ApiResponse<EmployeeResponse> getResponse = new ApiResponse<>();
+        getResponse.setData(employee);
+        ApiResponse<Boolean> deleteResponse = new ApiResponse<>();
+        deleteResponse.setData(true);
+
+        when(restTemplate.exchange(
+                        eq(SHARD_A + "/" + employee.getId()),
+                        eq(HttpMethod.GET),
+                        any(),
+                        any(ParameterizedTypeReference.class)))
+                .thenThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND, "Not found"));
+        when(restTemplate.exchange(
+                        eq(SHARD_B + "/" + employee.getId()),
+                        eq(HttpMethod.GET),
+                        any(),
+                        any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(getResponse, HttpStatus.OK));
+        when(restTemplate.exchange(
+                        eq(SHARD_B),
+                        eq(HttpMethod.DELETE),
+                        any(HttpEntity.class),
+                        any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(deleteResponse, HttpStatus.OK));
+
+        assertEquals("Abhishek J", employeeService.deleteEmployeeById(employee.getId()));
+    }
+
+    @Test
+    void deleteEmployeeById_asksTheShardWhosePartitionHoldsTheId() {
+        ReflectionTestUtils.setField(employeeService, "shardBaseUrls", List.of(SHARD_A, SHARD_B));
+        EmployeeResponse employee = createEmployee("Abhishek J", 50000);
+        while (EmployeeServiceImpl.shardIndex(employee.getId(), 2) != 0) {
+            employee.setId(UUID.randomUUID().toString());
+        }
+        stubAllEmployees(SHARD_A, new EmployeeResponse[0]);
+        stubAllEmployees(SHARD_B, new EmployeeResponse[] {employee});
+        employeeService.getAllEmployees();
+
+        ApiResponse<EmployeeResponse> getResponse = new ApiResponse<>();
+        getResponse.setData(employee);
+        ApiResponse<Boolean> deleteResponse = new ApiResponse<>();
+        deleteResponse.setData(true);
+        when(restTemplate.exchange(
+                        eq(SHARD_B + "/" + employee.getId()),
+                        eq(HttpMethod.GET),
+                        any(),
+                        any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(getResponse, HttpStatus.OK));
+        when(restTemplate.exchange(
+                        eq(SHARD_B),
+                        eq(HttpMethod.DELETE),
+                        any(HttpEntity.class),
+                        any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(deleteResponse, HttpStatus.OK));
+
+        assertEquals("Abhishek J", employeeService.deleteEmployeeById(employee.getId()));
+        verify(restTemplate, never())
+                .exchange(
+                        eq(SHARD_A + "/" + employee.getId()),
+                        eq(HttpMethod.GET),
+                        any(),
+                        any(ParameterizedTypeReference.class));
+    }
+
+    private void stubAllEmployees(String url, EmployeeResponse[] employees) {
+        ApiResponse<EmployeeResponse[]> apiResponse = new ApiResponse<>();
+        apiResponse.setData(employees);
+        when(restTemplate.exchange(eq(url), eq(HttpMethod.GET), any(), any(ParameterizedTypeReference.class)))
+                .thenReturn(new ResponseEntity<>(apiResponse, HttpStatus.OK));
+    }
+
     private EmployeeResponse createEmployee(String name, Integer salary) {
         return EmployeeResponse.builder()
                 .id(String.valueOf(UUID.randomUUID()))
@@ -0,0 +1,126 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.reliaquest.api.dto.request.CreateEmployeeRequest;
+import com.reliaquest.api.dto.response.EmployeeResponse;
+import com.reliaquest.api.service.Impl.IdempotencyStore;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class IdempotencyStoreTest {
+
+    private static final CreateEmployeeRequest REQUEST = CreateEmployeeRequest.builder()
+            .name("Test Employee")
+            .salary(80000)
+            .age(30)
+            .title("Engineer")
+            .build();
+
+    private final MutableClock clock = new MutableClock();
+    private final IdempotencyStore store = new IdempotencyStore(Duration.ofMinutes(10), 2, clock);
+    private final AtomicInteger creates = new AtomicInteger();
+
+    @Test
+    void createOnce_replaysCompletedCreate_untilExpired() {
+        EmployeeResponse first = store.createOnce("key", REQUEST, this::create);
+        assertSame(first, store.createOnce("key", REQUEST, this::create));
+        assertEquals(1, creates.get());
+
+        clock.advance(Duration.ofMinutes(11));
+        store.createOnce("key", REQUEST, this::create);
+        assertEquals(2, creates.get());
+    }
+
+    @Test
+    void createOnce_joinsCreateInFlight() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<EmployeeResponse> first =
+                CompletableFuture.supplyAsync(() -> store.createOnce("key", REQUEST, () -> {
+                    started.countDown();
+                    await(release);
+                    return create();
+                }));
+        started.await(5, TimeUnit.SECONDS);
+
+        CompletableFuture<EmployeeResponse> retry =
+                CompletableFuture.supplyAsync(() -> store.createOnce("key", REQUEST, this::create));
+        release.countDown();
+
+        assertSame(first.get(5, TimeUnit.SECONDS), retry.get(5, TimeUnit.SECONDS));
+        assertEquals(1, creates.get());
+    }
+
+    @Test
+    void createOnce_forgetsFailedCreates_andRejectsReuseForOtherRequests() {
+        assertNull(store.createOnce("key", REQUEST, () -> null));
+        store.createOnce("key", REQUEST, this::create);
+        assertEquals(1, creates.get());
+
+        CreateEmployeeRequest other =
+                CreateEmployeeRequest.builder().name("Other").build();
+        assertThrows(IllegalArgumentException.class, () -> store.createOnce("key", other, this::create));
+    }
+
+    @Test
+    void createOnce_evictsOldestCompletedKey_whenFull() {
+        store.createOnce("a", REQUEST, this::create);
+        store.createOnce("b", REQUEST, this::create);
+        store.createOnce("c", REQUEST, this::create);
+
+        assertEquals(2, store.size());
+        store.createOnce("a", REQUEST, this::create);
+        assertEquals(4, creates.get());
+    }
+
+    private EmployeeResponse create() {
+        return EmployeeResponse.builder()
+                .id("id-" + creates.incrementAndGet())
+                .name(REQUEST.getName())
+                .build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
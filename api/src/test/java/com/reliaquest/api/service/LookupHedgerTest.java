@@ -0,0 +1,142 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.service.Impl.LookupHedger;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class LookupHedgerTest {
+
+    private static final String PRIMARY = "http://primary:8112/api/v1/employee";
+    private static final String REPLICA = "http://replica:8112/api/v1/employee";
+    private static final String OTHER_SHARD = "http://other:8112/api/v1/employee";
+    private static final String OTHER_REPLICA = "http://other-replica:8112/api/v1/employee";
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void call_returnsReplicaAnswer_whenPrimaryIsSlow() {
+        LookupHedger hedger = hedger(true, 1.0);
+        Function<String, String> request = baseUrl -> {
+            if (baseUrl.equals(PRIMARY)) {
+                sleep(2000);
+            }
+            return baseUrl;
+        };
+
+        long started = System.nanoTime();
+        assertEquals(REPLICA, hedger.call(PRIMARY, request));
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).toMillis() < 1000);
+    }
+
+    @Test
+    void call_waitsForPrimary_whenHedgeBudgetIsSpent() {
+        LookupHedger hedger = hedger(true, 0.0);
+        AtomicInteger replicaCalls = new AtomicInteger();
+        Function<String, String> request = baseUrl -> {
+            if (baseUrl.equals(REPLICA)) {
+                replicaCalls.incrementAndGet();
+            }
+            sleep(100);
+            return baseUrl;
+        };
+
+        assertEquals(PRIMARY, hedger.call(PRIMARY, request));
+        assertEquals(0, replicaCalls.get());
+    }
+
+    @Test
+    void call_fallsBackToReplica_whenPrimaryFails() {
+        LookupHedger hedger = hedger(true, 1.0);
+        Function<String, String> request = baseUrl -> {
+            if (baseUrl.equals(PRIMARY)) {
+                sleep(100);
+                throw new IllegalStateException("primary down");
+            }
+            sleep(200);
+            return baseUrl;
+        };
+
+        assertEquals(REPLICA, hedger.call(PRIMARY, request));
+    }
+
+    @Test
+    void call_waitsForPrimary_whenReplicaAnswersEmpty() {
+        LookupHedger hedger = hedger(true, 1.0);
+        Function<String, String> request = baseUrl -> {
+            if (baseUrl.equals(PRIMARY)) {
+                sleep(200);
+                return baseUrl;
+            }
+            return null;
+        };
+
+        assertEquals(PRIMARY, hedger.call(PRIMARY, request));
+    }
+
+    @Test
+    void call_hedgesOnlyOntoReplicasOfTheSameUpstream() {
+        LookupHedger hedger = hedger(true, 1.0);
+        Set<String> asked = ConcurrentHashMap.newKeySet();
+        Function<String, String> request = baseUrl -> {
+            asked.add(baseUrl);
+            sleep(100);
+            return baseUrl;
+        };
+
+        hedger.call(OTHER_SHARD, request);
+        assertEquals(Set.of(OTHER_SHARD, OTHER_REPLICA), asked);
+    }
+
+    @Test
+    void replicas_mustBeUpstreamReplicaPairs() {
+        assertThrows(IllegalArgumentException.class, () -> hedger(true, 1.0, List.of(REPLICA)));
+    }
+
+    @Test
+    void call_isPlainCall_whenDisabled() {
+        LookupHedger hedger = hedger(false, 1.0);
+        assertEquals(PRIMARY, hedger.call(PRIMARY, Function.identity()));
+    }
+
+    private LookupHedger hedger(boolean enabled, double maxRate) {
+        return hedger(enabled, maxRate, List.of(PRIMARY + "=" + REPLICA, OTHER_SHARD + "=" + OTHER_REPLICA));
+    }
+
+    private LookupHedger hedger(boolean enabled, double maxRate, List<String> replicas) {
+        return new LookupHedger(
+                enabled,
+                replicas,
+                0.95,
+                Duration.ofMillis(20),
+                Duration.ofMillis(5),
+                maxRate,
+                executor,
+                new SimpleMeterRegistry());
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.cache.EmployeeTable;
+import com.reliaquest.api.dto.response.EmployeeResponse;
+import com.reliaquest.api.service.Impl.RosterReducer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class RosterReducerTest {
+
+    // every table is split, into ranges of 100 rows at least
+    private final RosterReducer parallel = new RosterReducer(4, 0, 100);
+    private final RosterReducer sequential = RosterReducer.sequential();
+
+    private final EmployeeTable table = table(10_000);
+
+    @AfterEach
+    void tearDown() {
+        parallel.destroy();
+    }
+
+    @Test
+    void maxSalary_sameEitherWay() {
+        assertEquals(sequential.maxSalary(table), parallel.maxSalary(table));
+        assertEquals(0, parallel.maxSalary(EmployeeTable.of(List.of())));
+    }
+
+    @Test
+    void topSalaryRows_keepTableOrderOnTies() {
+        int[] top = parallel.topSalaryRows(table, 10);
+
+        assertArrayEquals(sequential.topSalaryRows(table, 10), top);
+        for (int i = 1; i < top.length; i++) {
+            int previous = table.salary(top[i - 1]);
+            int salary = table.salary(top[i]);
+            assertTrue(previous > salary || (previous == salary && top[i - 1] < top[i]));
+        }
+    }
+
+    @Test
+    void rowsWithNameContaining_inTableOrder() {
+        int[] rows = parallel.rowsWithNameContaining(table, "mployee 1");
+
+        assertArrayEquals(sequential.rowsWithNameContaining(table, "mployee 1"), rows);
+        // Employee 1, 10-19, 100-199 and 1000-1999, less the unnamed ones
+        assertEquals(1111 - 160, rows.length);
+        assertEquals("Employee 1", table.name(rows[0]));
+    }
+
+    // few distinct salaries, so the top ten is full of ties; every 7th employee has no name, every 11th no salary
+    private static EmployeeTable table(int size) {
+        Random random = new Random(42);
+        List<EmployeeResponse> employees = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            employees.add(EmployeeResponse.builder()
+                    .id("id-" + i)
+                    .name(i % 7 == 3 ? null : "Employee " + i)
+                    .salary(i % 11 == 5 ? null : 1000 * (1 + random.nextInt(50)))
+                    .build());
+        }
+        return EmployeeTable.of(employees);
+    }
+}
@@ -0,0 +1,78 @@
+package com.reliaquest.api.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.service.Impl.UpstreamBudget;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+class UpstreamBudgetTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final UpstreamBudget budget = new UpstreamBudget(Duration.ofSeconds(60), 5, 2, clock);
+
+    @Test
+    void allowsBackground_keepsReserveForUsers() {
+        assertTrue(budget.allowsBackground(3));
+        budget.record(HttpStatus.OK);
+
+        assertFalse(budget.allowsBackground(3));
+        assertTrue(budget.allowsBackground(2));
+    }
+
+    @Test
+    void record_learnsLimitFrom429_andBlocksForAWindow() {
+        for (int i = 0; i < 8; i++) {
+            budget.record(HttpStatus.OK);
+        }
+        assertEquals(8, budget.getEstimatedLimit());
+
+        budget.record(HttpStatus.TOO_MANY_REQUESTS);
+        assertEquals(0, budget.remaining());
+        assertFalse(budget.allowsBackground(1));
+
+        clock.advance(Duration.ofSeconds(61));
+        assertEquals(8, budget.remaining());
+        assertTrue(budget.allowsBackground(6));
+    }
+
+    @Test
+    void allowsBackground_isFalse_whileWriteInFlight() {
+        budget.writeStarted();
+        assertFalse(budget.allowsBackground(1));
+
+        budget.writeFinished();
+        assertTrue(budget.allowsBackground(1));
+    }
+
+    private static class MutableClock extends Clock {
+
+        private Instant now = Instant.parse("2024-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.reliaquest.api.stats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class SalarySketchTest {
+
+    @Test
+    void quantile_staysWithinRelativeAccuracy() {
+        Random random = new Random(7);
+        int[] salaries = random.ints(100_000, 30_000, 500_000).toArray();
+        SalarySketch sketch = new SalarySketch(0.01);
+        Arrays.stream(salaries).forEach(sketch::add);
+        Arrays.sort(salaries);
+
+        for (double quantile : new double[] {0.0, 0.5, 0.9, 0.99, 1.0}) {
+            int exact = salaries[(int) (quantile * (salaries.length - 1))];
+            double estimate = sketch.quantile(quantile);
+            assertTrue(Math.abs(estimate - exact) <= exact * 0.01, quantile + ": " + estimate + " vs " + exact);
+        }
+    }
+
+    @Test
+    void remove_undoesAdd() {
+        SalarySketch sketch = new SalarySketch(0.01);
+        sketch.add(50_000);
+        sketch.add(100_000);
+        sketch.add(400_000);
+
+        sketch.remove(400_000);
+        sketch.remove(999_999);
+
+        assertEquals(2, sketch.count());
+        assertEquals(100_000, sketch.quantile(1.0), 1_000);
+    }
+
+    @Test
+    void merge_equalsSketchOfAllValues() {
+        SalarySketch left = new SalarySketch(0.01);
+        SalarySketch right = new SalarySketch(0.01);
+        SalarySketch all = new SalarySketch(0.01);
+        for (int salary = 10_000; salary < 200_000; salary += 997) {
+            (salary % 2 == 0 ? left : right).add(salary);
+            all.add(salary);
+        }
+
+        left.merge(right);
+
+        assertEquals(all.count(), left.count());
+        for (double quantile : new double[] {0.1, 0.5, 0.95}) {
+            assertEquals(all.quantile(quantile), left.quantile(quantile));
+        }
+        assertThrows(IllegalArgumentException.class, () -> left.merge(new SalarySketch(0.05)));
+    }
+}
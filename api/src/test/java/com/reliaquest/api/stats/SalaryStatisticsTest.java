@@ -0,0 +1,69 @@
+package com.reliaquest.api.stats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.dto.response.EmployeeResponse;
+import com.reliaquest.api.dto.response.SalaryStatsResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SalaryStatisticsTest {
+
+    private final RosterCache rosterCache = new RosterCache(Duration.ofSeconds(30), new SimpleMeterRegistry());
+    private final SalaryStatistics statistics = new SalaryStatistics(rosterCache, 0.01);
+
+    @Test
+    void current_isEmpty_untilRosterLoaded() {
+        assertTrue(statistics.current().isEmpty());
+    }
+
+    @Test
+    void onLoaded_aggregatesPerTitleAcrossPartitions() {
+        rosterCache.getOrLoad(() -> List.of(
+                List.of(employee("1", "Engineer", 100_000), employee("2", "Engineer", 140_000)),
+                List.of(employee("3", "Manager", 200_000), employee("4", null, 60_000))));
+
+        SalaryStatsResponse stats = statistics.current().orElseThrow();
+
+        assertEquals(4, stats.getCount());
+        assertEquals(125_000, stats.getAverage());
+        assertEquals(60_000, stats.getMin());
+        assertEquals(200_000, stats.getMax());
+        assertEquals(2, stats.getTitles().get("Engineer").getCount());
+        assertEquals(120_000, stats.getTitles().get("Engineer").getAverage());
+        assertEquals(60_000, stats.getTitles().get(SalaryStatistics.NO_TITLE).getMax());
+        assertEquals(100_000, stats.getPercentiles().get("p50"), 1_000);
+    }
+
+    @Test
+    void addAndRemove_updateIncrementally() {
+        rosterCache.getOrLoad(() -> List.of(List.of(employee("1", "Engineer", 100_000))));
+
+        rosterCache.add(0, employee("2", "Engineer", 150_000));
+        rosterCache.add(0, employee("3", "Intern", 20_000));
+        rosterCache.remove("1");
+
+        SalaryStatsResponse stats = statistics.current().orElseThrow();
+        assertEquals(rosterCache.current().orElseThrow().getVersion(), stats.getRosterVersion());
+        assertEquals(2, stats.getCount());
+        assertEquals(150_000, stats.getTitles().get("Engineer").getMin());
+        assertEquals(20_000, stats.getMin());
+
+        rosterCache.remove("3");
+        assertFalse(statistics.current().orElseThrow().getTitles().containsKey("Intern"));
+    }
+
+    private static EmployeeResponse employee(String id, String title, int salary) {
+        return EmployeeResponse.builder()
+                .id(id)
+                .name("Employee " + id)
+                .title(title)
+                .salary(salary)
+                .build();
+    }
+}
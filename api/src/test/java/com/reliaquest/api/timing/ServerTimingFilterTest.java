@@ -0,0 +1,88 @@
+package com.reliaquest.api.timing;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.timing.RequestTimings.Phase;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class ServerTimingFilterTest {
+
+    private final ServerTimingFilter filter = new ServerTimingFilter(true, Duration.ofSeconds(1));
+
+    @Test
+    void doFilter_reportsPhases_withoutCountingNestedOnesTwice() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/employees"), response, (request, ignored) -> {
+            long upstream = RequestTimings.start();
+            // e.g. an exchange inside a fan-out wait: its time stays with the outer phase
+            assertEquals(RequestTimings.NOT_TIMED, RequestTimings.start());
+            sleep(20);
+            RequestTimings.stop(Phase.UPSTREAM, upstream);
+            long roster = RequestTimings.start();
+            sleep(10);
+            RequestTimings.stop(Phase.ROSTER, roster);
+        });
+
+        String header = response.getHeader(ServerTimingFilter.SERVER_TIMING);
+        assertTrue(header.startsWith("upstream;dur="), header);
+        assertTrue(header.contains(";desc=\"1 request\", roster;dur="), header);
+        assertTrue(duration(header, "upstream") >= 20, header);
+        assertTrue(duration(header, "roster") >= 10, header);
+        // each duration is rounded to a tenth on its own, so the sum may exceed the total by that much
+        assertTrue(
+                duration(header, "total") >= duration(header, "upstream") + duration(header, "roster") - 0.1, header);
+        assertTrue(header.contains("compute;dur="), header);
+        assertTrue(!header.contains("wait;") && !header.contains("decode;"), header);
+    }
+
+    @Test
+    void start_isNoOp_outsideTimedRequests() throws Exception {
+        assertEquals(RequestTimings.NOT_TIMED, RequestTimings.start());
+
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), response, (request, ignored) -> {
+            assertEquals(RequestTimings.NOT_TIMED, RequestTimings.start());
+        });
+
+        assertNull(response.getHeader(ServerTimingFilter.SERVER_TIMING));
+        assertNull(RequestTimings.current());
+    }
+
+    @Test
+    void doFilter_reusesTimings_acrossRequests() throws Exception {
+        filter.doFilter(
+                new MockHttpServletRequest("GET", "/api/v1/employees"),
+                new MockHttpServletResponse(),
+                (request, ignored) -> {
+                    long upstream = RequestTimings.start();
+                    sleep(5);
+                    RequestTimings.stop(Phase.UPSTREAM, upstream);
+                });
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/v1/employees"), response, (request, ignored) -> {});
+
+        assertTrue(response.getHeader(ServerTimingFilter.SERVER_TIMING).startsWith("compute;dur="));
+    }
+
+    private static double duration(String header, String metric) {
+        Matcher matcher = Pattern.compile(metric + ";dur=([0-9.]+)").matcher(header);
+        assertTrue(matcher.find(), header);
+        return Double.parseDouble(matcher.group(1));
+    }
+
+    private static void sleep(long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.reliaquest.api.warmup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.api.config.ApiConfiguration;
+import com.reliaquest.api.config.WireFormat;
+import com.reliaquest.api.service.Impl.EmployeeServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.web.client.RestTemplate;
+
+class SyntheticUpstreamTest {
+
+    @Test
+    void standaloneService_decodesSyntheticRoster() throws Exception {
+        for (WireFormat wireFormat : WireFormat.values()) {
+            RestTemplate restTemplate = new ApiConfiguration().restTemplate(new RestTemplateBuilder(), wireFormat);
+            restTemplate.setRequestFactory(new SyntheticUpstream(wireFormat, 50));
+            EmployeeServiceImpl service = EmployeeServiceImpl.standalone(SyntheticUpstream.BASE_URL, restTemplate);
+
+            assertEquals(50, service.getAllEmployees().size(), wireFormat.name());
+            assertEquals(10, service.getTopTenHighestEarningEmployeeNames().size());
+            assertNotNull(service.getEmployeeById("any-id"));
+            assertTrue(service.deleteEmployeeById("any-id").startsWith("Warmup Employee"));
+        }
+    }
+}
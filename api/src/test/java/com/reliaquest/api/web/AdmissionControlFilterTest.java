@@ -0,0 +1,80 @@
+package com.reliaquest.api.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.reliaquest.api.web.AdmissionControlFilter.Priority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class AdmissionControlFilterTest {
+
+    private final GradientLimit limit = new GradientLimit(10, 4, 200, 0.2);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AdmissionControlFilter filter =
+            new AdmissionControlFilter(true, limit, Duration.ofSeconds(2), meterRegistry);
+
+    @Test
+    void priorityOf_classifiesEndpoints() {
+        assertEquals(Priority.ROSTER_READ, AdmissionControlFilter.priorityOf(get("/api/v1/employees")));
+        assertEquals(Priority.ROSTER_READ, AdmissionControlFilter.priorityOf(get("/api/v1/employees/search/ann")));
+        assertEquals(Priority.ROSTER_READ, AdmissionControlFilter.priorityOf(get("/api/v1/employees/highestSalary")));
+        assertEquals(Priority.ROSTER_READ, AdmissionControlFilter.priorityOf(get("/api/v1/employees/summary")));
+        assertEquals(Priority.ROSTER_READ, AdmissionControlFilter.priorityOf(get("/api/v1/employees/stats")));
+        assertEquals(Priority.LOOKUP, AdmissionControlFilter.priorityOf(get("/api/v1/employees/123")));
+        assertEquals(
+                Priority.ROSTER_READ,
+                AdmissionControlFilter.priorityOf(new MockHttpServletRequest("POST", "/api/v1/employees/lookup")));
+        assertEquals(
+                Priority.WRITE,
+                AdmissionControlFilter.priorityOf(new MockHttpServletRequest("DELETE", "/api/v1/employees/123")));
+    }
+
+    @Test
+    void doFilter_shedsRosterReadsBeforeLookups() throws Exception {
+        for (int i = 0; i < 7; i++) {
+            limit.tryAcquire(1.0);
+        }
+
+        MockHttpServletResponse listing = filter(get("/api/v1/employees"));
+        MockHttpServletResponse lookup = filter(get("/api/v1/employees/123"));
+
+        assertEquals(503, listing.getStatus());
+        assertEquals("2", listing.getHeader("Retry-After"));
+        assertEquals(200, lookup.getStatus());
+        assertEquals(7, limit.getInFlight());
+        assertEquals(
+                1,
+                meterRegistry
+                        .get("api.admission.rejected")
+                        .tag("priority", "ROSTER_READ")
+                        .counter()
+                        .count());
+    }
+
+    @Test
+    void doFilter_ignoresOtherPaths() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            limit.tryAcquire(1.0);
+        }
+
+        MockHttpServletResponse health = filter(get("/actuator/health"));
+
+        assertEquals(200, health.getStatus());
+        assertNull(health.getHeader("Retry-After"));
+    }
+
+    private MockHttpServletResponse filter(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest get(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+}
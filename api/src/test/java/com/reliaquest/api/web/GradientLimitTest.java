@@ -0,0 +1,61 @@
+package com.reliaquest.api.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class GradientLimitTest {
+
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(200);
+
+    @Test
+    void limit_growsWhileLatencyIsSteady() {
+        GradientLimit limit = new GradientLimit(20, 4, 200, 0.2);
+
+        for (int i = 0; i < 100; i++) {
+            limit.release(FAST, 20);
+        }
+
+        assertTrue(limit.getLimit() > 20, "limit was " + limit.getLimit());
+    }
+
+    @Test
+    void limit_shrinksWhenLatencyRises() {
+        GradientLimit limit = new GradientLimit(20, 4, 200, 0.2);
+        for (int i = 0; i < 100; i++) {
+            limit.release(FAST, 10);
+        }
+
+        for (int i = 0; i < 100; i++) {
+            limit.release(SLOW, 20);
+        }
+
+        assertEquals(4, limit.getLimit());
+    }
+
+    @Test
+    void limit_holdsWhileMostlyIdle() {
+        GradientLimit limit = new GradientLimit(20, 4, 200, 0.2);
+
+        for (int i = 0; i < 100; i++) {
+            limit.release(i % 2 == 0 ? FAST : SLOW, 2);
+        }
+
+        assertEquals(20, limit.getLimit());
+    }
+
+    @Test
+    void tryAcquire_respectsShareOfLimit() {
+        GradientLimit limit = new GradientLimit(10, 4, 200, 0.2);
+
+        for (int i = 0; i < 5; i++) {
+            assertTrue(limit.tryAcquire(1.0) > 0);
+        }
+
+        assertEquals(-1, limit.tryAcquire(0.5));
+        assertEquals(6, limit.tryAcquire(1.0));
+    }
+}
@@ -0,0 +1,105 @@
+package com.reliaquest.api.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.reliaquest.api.cache.RosterCache;
+import com.reliaquest.api.dto.response.EmployeeResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RosterETagFilterTest {
+
+    private final RosterCache rosterCache = new RosterCache(Duration.ofSeconds(30), new SimpleMeterRegistry());
+    private final RosterETagFilter filter =
+            new RosterETagFilter(rosterCache, true, Duration.ofSeconds(5), new SimpleMeterRegistry());
+    private final AtomicInteger handled = new AtomicInteger();
+
+    @Test
+    void doFilter_answers304ForCurrentVersion_withoutReachingController() throws Exception {
+        rosterCache.getOrLoad(
+                () -> List.of(List.of(EmployeeResponse.builder().id("1").build())));
+
+        MockHttpServletResponse first = filter(get("/api/v1/employees/highestSalary"));
+        String eTag = first.getHeader("ETag");
+        assertNotNull(eTag);
+        assertEquals("public, max-age=5", first.getHeader("Cache-Control"));
+
+        MockHttpServletRequest conditional = get("/api/v1/employees/highestSalary");
+        conditional.addHeader("If-None-Match", "\"other\", W/" + eTag);
+        MockHttpServletResponse revalidated = filter(conditional);
+
+        assertEquals(304, revalidated.getStatus());
+        assertEquals(eTag, revalidated.getHeader("ETag"));
+        assertEquals(1, handled.get());
+    }
+
+    @Test
+    void doFilter_changesTag_whenRosterChanges() throws Exception {
+        rosterCache.getOrLoad(
+                () -> List.of(List.of(EmployeeResponse.builder().id("1").build())));
+        String before = filter(get("/api/v1/employees")).getHeader("ETag");
+
+        rosterCache.add(0, EmployeeResponse.builder().id("2").build());
+        MockHttpServletRequest conditional = get("/api/v1/employees");
+        conditional.addHeader("If-None-Match", before);
+        MockHttpServletResponse response = filter(conditional);
+
+        assertEquals(200, response.getStatus());
+        assertNotEquals(before, response.getHeader("ETag"));
+    }
+
+    @Test
+    void doFilter_leavesUntagged_withoutFreshRosterOrOnErrors() throws Exception {
+        assertNull(filter(get("/api/v1/employees")).getHeader("ETag"));
+
+        rosterCache.getOrLoad(() -> List.of(List.of()));
+        MockHttpServletResponse failed = new MockHttpServletResponse();
+        filter.doFilter(get("/api/v1/employees/highestSalary"), failed, (request, response) -> {
+            ((HttpServletResponse) response).setStatus(503);
+            response.getWriter().write("{}");
+        });
+        assertNull(failed.getHeader("ETag"));
+    }
+
+    @Test
+    void doFilter_tagsOnlyAnswersDerivedFromTheRoster() throws Exception {
+        rosterCache.getOrLoad(() -> List.of(List.of()));
+
+        assertNotNull(filter(get("/api/v1/employees/topTenHighestEarningEmployeeNames"))
+                .getHeader("ETag"));
+        assertNotNull(filter(get("/api/v1/employees/search/nix")).getHeader("ETag"));
+        assertNull(filter(get("/api/v1/employees/123")).getHeader("ETag"));
+        assertNull(filter(get("/api/v1/employees/summary")).getHeader("ETag"));
+        assertNull(filter(get("/api/v1/employees/stats")).getHeader("ETag"));
+        assertNull(filter(get("/api/v1/employees/async/abc")).getHeader("ETag"));
+    }
+
+    private MockHttpServletResponse filter(MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain() {
+            @Override
+            public void doFilter(ServletRequest req, ServletResponse res) throws IOException {
+                handled.incrementAndGet();
+                res.getWriter().write("[]");
+            }
+        });
+        return response;
+    }
+
+    private static MockHttpServletRequest get(String uri) {
+        return new MockHttpServletRequest("GET", uri);
+    }
+}
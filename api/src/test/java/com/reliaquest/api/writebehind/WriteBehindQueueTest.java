@@ -0,0 +1,195 @@
+package com.reliaquest.api.writebehind;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.reliaquest.api.dto.request.CreateEmployeeRequest;
+import com.reliaquest.api.dto.response.EmployeeResponse;
+import com.reliaquest.api.dto.response.QueuedCreateStatus;
+import com.reliaquest.api.dto.response.QueuedCreateStatus.State;
+import com.reliaquest.api.exception.EmployeeServiceException;
+import com.reliaquest.api.service.EmployeeService;
+import com.reliaquest.api.service.Impl.UpstreamBudget;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+class WriteBehindQueueTest {
+
+    @TempDir
+    private Path directory;
+
+    private final EmployeeService employeeService = mock(EmployeeService.class);
+    private final UpstreamBudget upstreamBudget = new UpstreamBudget(Duration.ofMinutes(1), 100, 0, Clock.systemUTC());
+
+    @Test
+    void flush_sendsQueuedCreatesAsOneBatch() throws IOException {
+        WriteBehindQueue queue = queue(10);
+        String first = queue.enqueue(request("First")).orElseThrow().getTrackingId();
+        String second = queue.enqueue(request("Second")).orElseThrow().getTrackingId();
+        when(employeeService.createEmployees(eq(List.of(request("First"), request("Second"))), anyString()))
+                .thenReturn(List.of(employee("1", "First"), employee("2", "Second")));
+
+        queue.flush();
+
+        verify(employeeService, times(1)).createEmployees(anyList(), anyString());
+        QueuedCreateStatus status = queue.status(second).orElseThrow();
+        assertEquals(State.CREATED, status.getState());
+        assertEquals("2", status.getEmployee().getId());
+        assertEquals(State.CREATED, queue.status(first).orElseThrow().getState());
+        assertEquals(0, queue.pending());
+    }
+
+    @Test
+    void flush_keepsBatchQueued_whenRateLimited() throws IOException {
+        WriteBehindQueue queue = queue(10);
+        String trackingId = queue.enqueue(request("First")).orElseThrow().getTrackingId();
+        when(employeeService.createEmployees(anyList(), anyString()))
+                .thenThrow(new EmployeeServiceException(
+                        "Rate limit exceeded", new HttpClientErrorException(HttpStatus.TOO_MANY_REQUESTS)))
+                .thenReturn(List.of(employee("1", "First")));
+
+        queue.flush();
+        assertEquals(State.QUEUED, queue.status(trackingId).orElseThrow().getState());
+        assertEquals(1, queue.status(trackingId).orElseThrow().getAttempts());
+
+        queue.flush();
+        assertEquals(State.CREATED, queue.status(trackingId).orElseThrow().getState());
+    }
+
+    @Test
+    void flush_resendsTimedOutBatchUnchanged_underItsIdempotencyKey() throws IOException {
+        WriteBehindQueue queue = queue(10);
+        String first = queue.enqueue(request("First")).orElseThrow().getTrackingId();
+        // upstream created the batch, but the answer never arrived
+        when(employeeService.createEmployees(anyList(), anyString()))
+                .thenThrow(new EmployeeServiceException(
+                        "Upstream unavailable", new ResourceAccessException("Read timed out")))
+                .thenReturn(List.of(employee("1", "First")))
+                .thenReturn(List.of(employee("2", "Second")));
+        queue.flush();
+        String second = queue.enqueue(request("Second")).orElseThrow().getTrackingId();
+
+        queue.flush();
+
+        ArgumentCaptor<String> keys = ArgumentCaptor.forClass(String.class);
+        verify(employeeService, times(2)).createEmployees(eq(List.of(request("First"))), keys.capture());
+        assertEquals(keys.getAllValues().get(0), keys.getAllValues().get(1));
+        ArgumentCaptor<String> secondKey = ArgumentCaptor.forClass(String.class);
+        verify(employeeService).createEmployees(eq(List.of(request("Second"))), secondKey.capture());
+        assertNotEquals(keys.getValue(), secondKey.getValue());
+        assertEquals("1", queue.status(first).orElseThrow().getEmployee().getId());
+        assertEquals("2", queue.status(second).orElseThrow().getEmployee().getId());
+    }
+
+    @Test
+    void restart_resendsSentBatch_underTheSameIdempotencyKey() throws Exception {
+        WriteBehindQueue before = queue(10);
+        before.enqueue(request("First"));
+        when(employeeService.createEmployees(anyList(), anyString()))
+                .thenThrow(new EmployeeServiceException(
+                        "Upstream unavailable", new ResourceAccessException("Read timed out")))
+                .thenReturn(List.of(employee("1", "First")));
+        before.flush();
+        before.destroy();
+
+        WriteBehindQueue after = queue(10);
+        after.flush();
+
+        ArgumentCaptor<String> keys = ArgumentCaptor.forClass(String.class);
+        verify(employeeService, times(2)).createEmployees(eq(List.of(request("First"))), keys.capture());
+        assertEquals(keys.getAllValues().get(0), keys.getAllValues().get(1));
+        assertEquals(0, after.pending());
+    }
+
+    @Test
+    void enqueue_rejects_whenQueueFull() throws IOException {
+        WriteBehindQueue queue = queue(1);
+        assertTrue(queue.enqueue(request("First")).isPresent());
+        assertTrue(queue.enqueue(request("Second")).isEmpty());
+    }
+
+    @Test
+    void restart_resumesQueuedCreates_andKeepsOutcomes() throws Exception {
+        WriteBehindQueue before = queue(10);
+        String created = before.enqueue(request("First")).orElseThrow().getTrackingId();
+        when(employeeService.createEmployees(anyList(), anyString())).thenReturn(List.of(employee("1", "First")));
+        before.flush();
+        String queued = before.enqueue(request("Second")).orElseThrow().getTrackingId();
+        before.destroy();
+
+        WriteBehindQueue after = queue(10);
+
+        assertEquals(State.CREATED, after.status(created).orElseThrow().getState());
+        assertEquals(State.QUEUED, after.status(queued).orElseThrow().getState());
+        assertEquals(1, after.pending());
+    }
+
+    @Test
+    void flush_waits_whileBudgetHasNothingToSpare() throws IOException {
+        UpstreamBudget exhausted = new UpstreamBudget(Duration.ofMinutes(1), 1, 1, Clock.systemUTC());
+        WriteBehindQueue queue = new WriteBehindQueue(
+                employeeService,
+                exhausted,
+                Jackson2ObjectMapperBuilder.json().build(),
+                new SimpleMeterRegistry(),
+                directory.resolve("queue.ndjson"),
+                false,
+                100,
+                10,
+                5,
+                100);
+        queue.enqueue(request("First"));
+
+        queue.flush();
+
+        verifyNoInteractions(employeeService);
+        assertEquals(1, queue.pending());
+    }
+
+    private WriteBehindQueue queue(int maxPending) throws IOException {
+        return new WriteBehindQueue(
+                employeeService,
+                upstreamBudget,
+                Jackson2ObjectMapperBuilder.json().build(),
+                new SimpleMeterRegistry(),
+                directory.resolve("queue.ndjson"),
+                false,
+                100,
+                maxPending,
+                5,
+                100);
+    }
+
+    private static CreateEmployeeRequest request(String name) {
+        return CreateEmployeeRequest.builder()
+                .name(name)
+                .salary(50000)
+                .age(30)
+                .title("Engineer")
+                .build();
+    }
+
+    private static EmployeeResponse employee(String id, String name) {
+        return EmployeeResponse.builder().id(id).name(name).salary(50000).build();
+    }
+}
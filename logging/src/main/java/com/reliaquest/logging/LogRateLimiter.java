@@ -0,0 +1,114 @@
+package com.reliaquest.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.LoggerFactory;
+import org.slf4j.Marker;
+
+/**
+ * Logback turbo filter that thins out hot-path loggers before a log event is even created. {@code <limit>name=N</limit>}
+ * lets at most N messages per second through for logger {@code name} and the loggers below it; {@code <sample>name=N
+ * </sample>} keeps one message in N. The most specific configured name applies. Suppressed messages cost a counter
+ * increment; their number is reported by this filter's own logger once the logger logs again in a later second.
+ * Level checks such as {@code isDebugEnabled()} pass without using up the limit.
+ */
+public class LogRateLimiter extends TurboFilter {
+
+    private static final String OWN_LOGGER = LogRateLimiter.class.getName();
+    private static final Rule NO_RULE = new Rule("", 0, 0);
+
+    private final List<Rule> rules = new ArrayList<>();
+    private final Map<String, Rule> byLogger = new ConcurrentHashMap<>();
+
+    // called by logback for every <limit> element
+    public void addLimit(String limit) {
+        rules.add(parse(limit, true));
+    }
+
+    // called by logback for every <sample> element
+    public void addSample(String sample) {
+        rules.add(parse(sample, false));
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        if (!isStarted() || format == null || !level.isGreaterOrEqual(logger.getEffectiveLevel())) {
+            return FilterReply.NEUTRAL;
+        }
+        Rule rule = byLogger.computeIfAbsent(logger.getName(), this::ruleFor);
+        if (rule == NO_RULE) {
+            return FilterReply.NEUTRAL;
+        }
+        return rule.tryPass() ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private Rule ruleFor(String loggerName) {
+        if (loggerName.equals(OWN_LOGGER)) {
+            return NO_RULE;
+        }
+        Rule best = NO_RULE;
+        for (Rule rule : rules) {
+            boolean covers = loggerName.equals(rule.name) || loggerName.startsWith(rule.name + ".");
+            if (covers && rule.name.length() >= best.name.length()) {
+                best = rule;
+            }
+        }
+        return best;
+    }
+
+    private static Rule parse(String setting, boolean limit) {
+        int separator = setting.lastIndexOf('=');
+        if (separator <= 0) {
+            throw new IllegalArgumentException("Expected <logger>=<number>, got " + setting);
+        }
+        String name = setting.substring(0, separator).trim();
+        int value = Integer.parseInt(setting.substring(separator + 1).trim());
+        if (value < 1) {
+            throw new IllegalArgumentException("Expected a positive number in " + setting);
+        }
+        return limit ? new Rule(name, value, 1) : new Rule(name, 0, value);
+    }
+
+    private static class Rule {
+
+        private final String name;
+        private final int perSecond;
+        private final int sampleEvery;
+        private final AtomicLong second = new AtomicLong();
+        private final AtomicInteger passed = new AtomicInteger();
+        private final AtomicLong seen = new AtomicLong();
+        private final AtomicLong suppressed = new AtomicLong();
+
+        Rule(String name, int perSecond, int sampleEvery) {
+            this.name = name;
+            this.perSecond = perSecond;
+            this.sampleEvery = sampleEvery;
+        }
+
+        boolean tryPass() {
+            long now = System.nanoTime() / 1_000_000_000L;
+            long current = second.get();
+            if (now != current && second.compareAndSet(current, now)) {
+                passed.set(0);
+                long dropped = suppressed.getAndSet(0);
+                if (dropped > 0) {
+                    LoggerFactory.getLogger(OWN_LOGGER).warn("Suppressed {} log messages of {}", dropped, name);
+                }
+            }
+            boolean pass = (perSecond == 0 || passed.incrementAndGet() <= perSecond)
+                    && (sampleEvery == 1 || seen.getAndIncrement() % sampleEvery == 0);
+            if (!pass) {
+                suppressed.incrementAndGet();
+            }
+            return pass;
+        }
+    }
+}
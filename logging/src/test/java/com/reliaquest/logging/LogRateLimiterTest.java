@@ -0,0 +1,99 @@
+package com.reliaquest.logging;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.classic.util.LogbackMDCAdapter;
+import ch.qos.logback.core.read.ListAppender;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class LogRateLimiterTest {
+
+    private LoggerContext context;
+    private ListAppender<ILoggingEvent> appender;
+
+    @BeforeEach
+    void setUp() {
+        context = new LoggerContext();
+        context.setMDCAdapter(new LogbackMDCAdapter());
+        appender = new ListAppender<>();
+        appender.setContext(context);
+        appender.start();
+        context.getLogger(Logger.ROOT_LOGGER_NAME).addAppender(appender);
+    }
+
+    @Test
+    void limit_capsMessagesPerSecond() {
+        start(limiter -> limiter.addLimit("com.example=5"));
+
+        log("com.example.Service", 1000);
+
+        // a second boundary during the loop lets at most one more batch through
+        int logged = logged("com.example.Service");
+        assertTrue(logged >= 5 && logged <= 10, "logged " + logged);
+    }
+
+    @Test
+    void sample_keepsOneInN() {
+        start(limiter -> limiter.addSample("com.example=10"));
+
+        log("com.example.Service", 100);
+
+        assertEquals(10, logged("com.example.Service"));
+    }
+
+    @Test
+    void mostSpecificRuleApplies() {
+        start(limiter -> {
+            limiter.addLimit("com.example=1");
+            limiter.addSample("com.example.Chatty=2");
+        });
+
+        log("com.example.Chatty", 100);
+        log("com.examples.Other", 100);
+
+        assertEquals(50, logged("com.example.Chatty"));
+        assertEquals(100, logged("com.examples.Other"));
+    }
+
+    @Test
+    void disabledLevels_doNotUseUpTheLimit() {
+        start(limiter -> limiter.addLimit("com.example=1"));
+        Logger logger = context.getLogger("com.example.Service");
+        logger.setLevel(Level.INFO);
+
+        for (int i = 0; i < 100; i++) {
+            logger.debug("Not logged {}", i);
+        }
+        logger.info("Logged");
+
+        assertEquals(1, logged("com.example.Service"));
+    }
+
+    private void start(Consumer<LogRateLimiter> configure) {
+        LogRateLimiter limiter = new LogRateLimiter();
+        configure.accept(limiter);
+        limiter.setContext(context);
+        limiter.start();
+        context.addTurboFilter(limiter);
+    }
+
+    private void log(String name, int messages) {
+        Logger logger = context.getLogger(name);
+        for (int i = 0; i < messages; i++) {
+            logger.warn("Message {}", i);
+        }
+    }
+
+    private int logged(String name) {
+        return (int) appender.list.stream()
+                .filter(event -> event.getLoggerName().equals(name))
+                .count();
+    }
+}
@@ -0,0 +1,52 @@
+package com.reliaquest.server.controller;
+
+import com.reliaquest.server.model.FaultProfile;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.service.FaultProfileService;
+import java.util.Map;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Switches the mock server's fault injection at runtime, e.g.
+ * {@code curl -X PUT localhost:8112/admin/faults/active/long-tail}. Profile {@code none} turns injection off.
+ */
+@RestController
+@RequestMapping("/admin/faults")
+@RequiredArgsConstructor
+public class FaultAdminController {
+
+    private final FaultProfileService faultProfileService;
+
+    @GetMapping()
+    public Response<FaultStatus> getStatus() {
+        return Response.handledWith(status());
+    }
+
+    @PutMapping("/active/{name}")
+    public Response<FaultStatus> activate(@PathVariable("name") String name) {
+        faultProfileService.activate(name);
+        return Response.handledWith(status());
+    }
+
+    // adds or replaces a profile without activating it
+    @PutMapping("/profiles/{name}")
+    public Response<FaultStatus> define(@PathVariable("name") String name, @RequestBody FaultProfile profile) {
+        faultProfileService.define(name, profile);
+        return Response.handledWith(status());
+    }
+
+    private FaultStatus status() {
+        return new FaultStatus(
+                faultProfileService.getActiveName(),
+                faultProfileService.inBrownout(),
+                faultProfileService.getProfiles());
+    }
+
+    public record FaultStatus(String active, boolean browningOut, Map<String, FaultProfile> profiles) {}
+}
@@ -1,34 +1,63 @@
 package com.reliaquest.server.controller;
 
+import com.reliaquest.server.model.CreateMockEmployeeBatchInput;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.MockEmployeeProjection;
 import com.reliaquest.server.model.Response;
+import com.reliaquest.server.model.RosterSnapshot;
+import com.reliaquest.server.model.TransferResult;
 import com.reliaquest.server.service.MockEmployeeService;
+import com.reliaquest.server.service.RosterTransferService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/v1/employee")
 @RequiredArgsConstructor
 public class MockEmployeeController {
 
+    static final String NDJSON = "application/x-ndjson";
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
     private final MockEmployeeService mockEmployeeService;
+    private final RosterTransferService rosterTransferService;
 
+    // answers 304 when If-None-Match still matches the roster's ETag; tag and body come from the same roster version
     @GetMapping()
-    public Response<List<MockEmployee>> getEmployees() {
-        return Response.handledWith(mockEmployeeService.getMockEmployees());
+    public ResponseEntity<Response<List<MockEmployee>>> getEmployees(WebRequest request) {
+        RosterSnapshot roster = mockEmployeeService.getMockEmployees();
+        String eTag = mockEmployeeService.getETag(roster);
+        if (request.checkNotModified(eTag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(eTag).body(Response.handledWith(roster));
+    }
+
+    // same roster restricted to the given comma-separated properties, e.g. ?fields=employee_name,employee_salary
+    @GetMapping(params = "fields")
+    public Response<MockEmployeeProjection> getEmployees(@RequestParam("fields") String fields) {
+        return Response.handledWith(new MockEmployeeProjection(
+                mockEmployeeService.getMockEmployees(), MockEmployeeProjection.Field.parse(fields)));
     }
 
     @GetMapping("/{id}")
@@ -44,6 +73,30 @@ public class MockEmployeeController {
         return Response.handledWith(mockEmployeeService.create(input));
     }
 
+    // creates every employee of the batch as one request, in the given order
+    @PostMapping("/batch")
+    public Response<List<MockEmployee>> createEmployees(
+            @RequestHeader(name = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+            @Valid @RequestBody CreateMockEmployeeBatchInput input) {
+        return Response.handledWith(
+                StringUtils.hasText(idempotencyKey)
+                        ? mockEmployeeService.createAll(idempotencyKey, input.getEmployees())
+                        : mockEmployeeService.createAll(input.getEmployees()));
+    }
+
+    // the whole roster as NDJSON, one employee per line, streamed with chunked transfer encoding
+    @GetMapping(value = "/export", produces = NDJSON)
+    public void exportEmployees(HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        rosterTransferService.export(response.getOutputStream());
+    }
+
+    // adds every employee of an NDJSON stream in the export's format, answering the number imported and the rate
+    @PostMapping(value = "/import", consumes = NDJSON)
+    public Response<TransferResult> importEmployees(InputStream body) throws IOException {
+        return Response.handledWith(rosterTransferService.importFrom(body));
+    }
+
     @DeleteMapping()
     public Response<Boolean> deleteEmployee(@Valid @RequestBody DeleteMockEmployeeInput input) {
         return Response.handledWith(mockEmployeeService.delete(input));
@@ -0,0 +1,11 @@
+package com.reliaquest.server.exception;
+
+// input a client sent that can't be used as given; answered with 400 and the message
+public class InvalidInputException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    public InvalidInputException(String message) {
+        super(message);
+    }
+}
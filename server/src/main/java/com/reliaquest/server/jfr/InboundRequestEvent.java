@@ -0,0 +1,33 @@
+package com.reliaquest.server.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Handling of one request to the mock server, from the outermost filter on, so injected faults and rate-limited (429)
+ * answers are included.
+ */
+@Name("com.reliaquest.server.InboundRequest")
+@Label("Inbound Request")
+@Category({"Mock Employee API", "Web"})
+@Description("Request handled by the mock employee API")
+@StackTrace(false)
+public class InboundRequestEvent extends Event {
+
+    @Label("Method")
+    public String method;
+
+    @Label("URI Template")
+    @Description("Matched mapping pattern, or the request URI when none matched")
+    public String uriTemplate;
+
+    @Label("Handler")
+    public String handler;
+
+    @Label("Status")
+    public int status;
+}
@@ -0,0 +1,167 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.reliaquest.server.exception.InvalidInputException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.springframework.http.HttpMethod;
+import org.springframework.util.AntPathMatcher;
+
+/**
+ * Adverse behavior the mock server injects into {@code /api/**} requests. The first rule whose method and path match a
+ * request decides its latency and faults; the optional brownout periodically degrades every request on top of that.
+ * A seed makes the sequence of injected faults repeatable for a given sequence of requests.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record FaultProfile(List<Rule> rules, Brownout brownout, Long seed) {
+
+    public static final FaultProfile NONE = new FaultProfile(List.of(), null, null);
+
+    private static final AntPathMatcher PATHS = new AntPathMatcher();
+
+    public FaultProfile {
+        rules = rules == null ? List.of() : List.copyOf(rules);
+    }
+
+    // throws InvalidInputException describing the first invalid setting
+    public void validate() {
+        rules.forEach(Rule::validate);
+        if (brownout != null) {
+            brownout.validate();
+        }
+    }
+
+    public Rule ruleFor(String method, String path) {
+        return rules.stream()
+                .filter(rule -> rule.matches(method, path))
+                .findFirst()
+                .orElse(null);
+    }
+
+    /**
+     * One endpoint's behavior. {@code path} is an Ant pattern such as {@code /api/v1/employee/**}; a missing method or
+     * path matches everything. Rates are probabilities between 0 and 1, {@code bytesPerSecond} throttles the response
+     * body (uncompressed bytes) when positive.
+     */
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    public record Rule(
+            String method,
+            String path,
+            Latency latency,
+            double errorRate,
+            int errorStatus,
+            double resetRate,
+            int bytesPerSecond) {
+
+        boolean matches(String requestMethod, String requestPath) {
+            return (method == null || method.equalsIgnoreCase(requestMethod))
+                    && (path == null || PATHS.match(path, requestPath));
+        }
+
+        // 503 unless configured otherwise
+        public int status() {
+            return errorStatus == 0 ? 503 : errorStatus;
+        }
+
+        void validate() {
+            if (method != null
+                    && Arrays.stream(HttpMethod.values())
+                            .noneMatch(known -> known.name().equalsIgnoreCase(method))) {
+                throw new InvalidInputException("Unknown method " + method);
+            }
+            requireRate("errorRate", errorRate);
+            requireRate("resetRate", resetRate);
+            requireServerError(errorStatus);
+            if (bytesPerSecond < 0) {
+                throw new InvalidInputException("bytesPerSecond must not be negative");
+            }
+            if (latency != null) {
+                latency.validate();
+            }
+        }
+    }
+
+    /**
+     * Time added before a request is handled. FIXED waits {@code ms}; NORMAL draws around a mean of {@code ms} with
+     * {@code stddevMs}; LONG_TAIL is log-normal with median {@code ms} and 99th percentile {@code p99Ms}. Draws are
+     * clamped to [0, maxMs] when maxMs is set.
+     */
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    public record Latency(Type type, double ms, double stddevMs, double p99Ms, double maxMs) {
+
+        // z-score of the 99th percentile of the standard normal distribution
+        private static final double Z_99 = 2.3263478740408408;
+
+        public enum Type {
+            FIXED,
+            NORMAL,
+            LONG_TAIL
+        }
+
+        public long sampleNanos(Random random) {
+            double millis =
+                    switch (type) {
+                        case FIXED -> ms;
+                        case NORMAL -> ms + stddevMs * random.nextGaussian();
+                        case LONG_TAIL -> ms * Math.exp(Math.log(p99Ms / ms) / Z_99 * random.nextGaussian());
+                    };
+            if (maxMs > 0) {
+                millis = Math.min(millis, maxMs);
+            }
+            return (long) (Math.max(0, millis) * 1_000_000);
+        }
+
+        void validate() {
+            if (type == null) {
+                throw new InvalidInputException("Latency needs a type, one of FIXED, NORMAL, LONG_TAIL");
+            }
+            if (ms < 0 || stddevMs < 0 || maxMs < 0) {
+                throw new InvalidInputException("Latency must not be negative");
+            }
+            if (type == Type.LONG_TAIL && (ms <= 0 || p99Ms < ms)) {
+                throw new InvalidInputException("LONG_TAIL latency needs ms > 0 and p99Ms >= ms");
+            }
+        }
+    }
+
+    /**
+     * Every {@code periodSeconds}, counted from the profile's activation, the first {@code durationSeconds} add
+     * {@code latency} to and fail {@code errorRate} of all requests.
+     */
+    @JsonInclude(JsonInclude.Include.NON_DEFAULT)
+    public record Brownout(
+            long periodSeconds, long durationSeconds, Latency latency, double errorRate, int errorStatus) {
+
+        public boolean isActive(long nanosSinceActivation) {
+            return nanosSinceActivation % (periodSeconds * 1_000_000_000L) < durationSeconds * 1_000_000_000L;
+        }
+
+        public int status() {
+            return errorStatus == 0 ? 503 : errorStatus;
+        }
+
+        void validate() {
+            if (periodSeconds <= 0 || durationSeconds < 0 || durationSeconds > periodSeconds) {
+                throw new InvalidInputException("Brownout needs 0 <= durationSeconds <= periodSeconds");
+            }
+            requireRate("errorRate", errorRate);
+            requireServerError(errorStatus);
+            if (latency != null) {
+                latency.validate();
+            }
+        }
+    }
+
+    private static void requireRate(String name, double rate) {
+        if (!(rate >= 0 && rate <= 1)) {
+            throw new InvalidInputException(name + " must be between 0 and 1");
+        }
+    }
+
+    private static void requireServerError(int status) {
+        if (status != 0 && (status < 500 || status > 599)) {
+            throw new InvalidInputException("errorStatus must be a 5xx status");
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonNaming;
+import java.util.UUID;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * One line of an NDJSON import, in the format the export writes. {@code id} and {@code employee_email} are kept when
+ * present and generated otherwise; the other properties are validated as for {@link CreateMockEmployeeInput}.
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+@JsonNaming(MockEmployee.PrefixNamingStrategy.class)
+public class ImportMockEmployeeInput extends CreateMockEmployeeInput {
+
+    private UUID id;
+    private String email;
+}
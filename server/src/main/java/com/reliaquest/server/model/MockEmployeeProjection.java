@@ -0,0 +1,84 @@
+package com.reliaquest.server.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.reliaquest.server.exception.InvalidInputException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Employees serialized with only the requested properties. The serializer reads straight from {@link MockEmployee}, so
+ * a projection costs no copies and skips the unrequested fields entirely.
+ */
+@JsonSerialize(using = MockEmployeeProjection.Serializer.class)
+public record MockEmployeeProjection(List<MockEmployee> employees, Set<Field> fields) {
+
+    @Getter
+    @RequiredArgsConstructor
+    public enum Field {
+        ID("id", MockEmployee::getId),
+        NAME("employee_name", MockEmployee::getName),
+        SALARY("employee_salary", MockEmployee::getSalary),
+        AGE("employee_age", MockEmployee::getAge),
+        TITLE("employee_title", MockEmployee::getTitle),
+        EMAIL("employee_email", MockEmployee::getEmail);
+
+        private final String property;
+        private final Function<MockEmployee, Object> accessor;
+
+        // comma-separated property names, e.g. "employee_name,employee_salary"; "name" works as well
+        public static Set<Field> parse(String fields) {
+            Set<Field> parsed = EnumSet.noneOf(Field.class);
+            for (String name : fields.split(",")) {
+                String trimmed = name.trim();
+                if (trimmed.isEmpty()) {
+                    continue;
+                }
+                parsed.add(Arrays.stream(values())
+                        .filter(field ->
+                                field.property.equals(trimmed) || field.name().equalsIgnoreCase(trimmed))
+                        .findFirst()
+                        .orElseThrow(() -> new InvalidInputException("Unknown employee field: " + trimmed)));
+            }
+            return parsed.isEmpty() ? EnumSet.allOf(Field.class) : parsed;
+        }
+    }
+
+    public static class Serializer extends StdSerializer<MockEmployeeProjection> {
+
+        private static final long serialVersionUID = 1L;
+
+        public Serializer() {
+            super(MockEmployeeProjection.class);
+        }
+
+        @Override
+        public void serialize(MockEmployeeProjection projection, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            gen.writeStartArray(projection.employees(), projection.employees().size());
+            for (MockEmployee employee : projection.employees()) {
+                gen.writeStartObject(employee);
+                for (Field field : projection.fields()) {
+                    Object value = field.getAccessor().apply(employee);
+                    if (value instanceof Integer number) {
+                        gen.writeNumberField(field.getProperty(), number);
+                    } else if (value != null) {
+                        gen.writeStringField(field.getProperty(), value.toString());
+                    } else {
+                        gen.writeNullField(field.getProperty());
+                    }
+                }
+                gen.writeEndObject();
+            }
+            gen.writeEndArray();
+        }
+    }
+}
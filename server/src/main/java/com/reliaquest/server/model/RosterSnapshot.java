@@ -0,0 +1,160 @@
+package com.reliaquest.server.model;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * One immutable version of the roster. Employees are held in chunks of up to {@value #CHUNK} that are never modified
+ * once published: adding employees copies only the last chunk, removing one copies only the chunk that held it, and
+ * every other chunk is shared with the previous version. Readers such as a long serialization keep working on the
+ * version they started with while writers publish new ones.
+ */
+public final class RosterSnapshot extends AbstractList<MockEmployee> {
+
+    static final int CHUNK = 32;
+
+    private static final MockEmployee[][] NO_CHUNKS = new MockEmployee[0][];
+
+    private final long version;
+    private final MockEmployee[][] chunks;
+    // offsets[i] is the index of the first employee of chunks[i]; the last entry is the size
+    private final int[] offsets;
+
+    private RosterSnapshot(long version, MockEmployee[][] chunks, int[] offsets) {
+        this.version = version;
+        this.chunks = chunks;
+        this.offsets = offsets;
+    }
+
+    public static RosterSnapshot of(List<MockEmployee> employees) {
+        RosterSnapshot filled = new RosterSnapshot(0, NO_CHUNKS, new int[] {0}).withAdded(employees);
+        return new RosterSnapshot(0, filled.chunks, filled.offsets);
+    }
+
+    // counts the changes since the first version
+    public long version() {
+        return version;
+    }
+
+    @Override
+    public int size() {
+        return offsets[chunks.length];
+    }
+
+    @Override
+    public MockEmployee get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        int chunk = chunkOf(index);
+        return chunks[chunk][index - offsets[chunk]];
+    }
+
+    @Override
+    public Iterator<MockEmployee> iterator() {
+        return new Iterator<>() {
+            private int chunk;
+            private int position;
+
+            @Override
+            public boolean hasNext() {
+                return chunk < chunks.length;
+            }
+
+            @Override
+            public MockEmployee next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                MockEmployee next = chunks[chunk][position++];
+                if (position == chunks[chunk].length) {
+                    chunk++;
+                    position = 0;
+                }
+                return next;
+            }
+        };
+    }
+
+    // the next version with the employees appended, sharing every full chunk with this one
+    public RosterSnapshot withAdded(List<MockEmployee> added) {
+        if (added.isEmpty()) {
+            return new RosterSnapshot(version + 1, chunks, offsets);
+        }
+        int kept = chunks.length;
+        // a partly filled last chunk is copied together with the added employees
+        MockEmployee[] tail = new MockEmployee[0];
+        if (kept > 0 && chunks[kept - 1].length < CHUNK) {
+            tail = chunks[--kept];
+        }
+        MockEmployee[] pending = concat(tail, added);
+        int newChunks = (pending.length + CHUNK - 1) / CHUNK;
+
+        MockEmployee[][] nextChunks = Arrays.copyOf(chunks, kept + newChunks);
+        int[] nextOffsets = Arrays.copyOf(offsets, kept + newChunks + 1);
+        for (int i = 0; i < newChunks; i++) {
+            int from = i * CHUNK;
+            nextChunks[kept + i] = Arrays.copyOfRange(pending, from, Math.min(from + CHUNK, pending.length));
+            nextOffsets[kept + i + 1] = nextOffsets[kept + i] + nextChunks[kept + i].length;
+        }
+        return new RosterSnapshot(version + 1, nextChunks, nextOffsets);
+    }
+
+    // the next version without the employee at index, sharing every other chunk with this one
+    public RosterSnapshot without(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException(index);
+        }
+        int chunk = chunkOf(index);
+        MockEmployee[] source = chunks[chunk];
+        int position = index - offsets[chunk];
+        if (source.length == 1) {
+            MockEmployee[][] nextChunks = new MockEmployee[chunks.length - 1][];
+            System.arraycopy(chunks, 0, nextChunks, 0, chunk);
+            System.arraycopy(chunks, chunk + 1, nextChunks, chunk, chunks.length - chunk - 1);
+            int[] nextOffsets = new int[offsets.length - 1];
+            System.arraycopy(offsets, 0, nextOffsets, 0, chunk + 1);
+            for (int i = chunk + 1; i < nextOffsets.length; i++) {
+                nextOffsets[i] = offsets[i + 1] - 1;
+            }
+            return new RosterSnapshot(version + 1, nextChunks, nextOffsets);
+        }
+
+        MockEmployee[] shrunk = new MockEmployee[source.length - 1];
+        System.arraycopy(source, 0, shrunk, 0, position);
+        System.arraycopy(source, position + 1, shrunk, position, shrunk.length - position);
+        MockEmployee[][] nextChunks = chunks.clone();
+        nextChunks[chunk] = shrunk;
+        int[] nextOffsets = offsets.clone();
+        for (int i = chunk + 1; i < nextOffsets.length; i++) {
+            nextOffsets[i]--;
+        }
+        return new RosterSnapshot(version + 1, nextChunks, nextOffsets);
+    }
+
+    // binary search for the last chunk starting at or before index
+    private int chunkOf(int index) {
+        int low = 0;
+        int high = chunks.length - 1;
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+            if (offsets[middle] <= index) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return low;
+    }
+
+    private static MockEmployee[] concat(MockEmployee[] head, List<MockEmployee> tail) {
+        MockEmployee[] all = Arrays.copyOf(head, head.length + tail.size());
+        for (int i = 0; i < tail.size(); i++) {
+            all[head.length + i] = tail.get(i);
+        }
+        return all;
+    }
+}
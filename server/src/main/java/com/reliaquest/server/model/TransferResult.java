@@ -0,0 +1,10 @@
+package com.reliaquest.server.model;
+
+// how many employees a bulk export or import moved, and how fast
+public record TransferResult(long records, long millis, long recordsPerSecond) {
+
+    public static TransferResult of(long records, long startedNanos) {
+        long nanos = Math.max(1, System.nanoTime() - startedNanos);
+        return new TransferResult(records, nanos / 1_000_000, records * 1_000_000_000 / nanos);
+    }
+}
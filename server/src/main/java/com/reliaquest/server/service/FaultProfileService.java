@@ -0,0 +1,169 @@
+package com.reliaquest.server.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.exception.InvalidInputException;
+import com.reliaquest.server.model.FaultProfile;
+import com.reliaquest.server.model.FaultProfile.Brownout;
+import com.reliaquest.server.model.FaultProfile.Rule;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+
+/**
+ * Named fault profiles and the one currently active. The built-in profiles come from {@code fault-profiles.json}; a
+ * file given by {@code mock.faults.profiles-file} adds to or replaces them, and profiles can be (re)defined and
+ * switched at runtime through the admin endpoint.
+ */
+@Slf4j
+@Service
+public class FaultProfileService {
+
+    public static final String NONE = "none";
+
+    private final Map<String, FaultProfile> profiles = new ConcurrentHashMap<>();
+    private final AtomicReference<Active> active = new AtomicReference<>();
+
+    private final Counter errors;
+    private final Counter resets;
+    private final Counter slowBodies;
+
+    public FaultProfileService(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${mock.faults.profiles-file:}") String profilesFile,
+            @Value("${mock.faults.profile:none}") String profile)
+            throws IOException {
+        try (InputStream builtIn = new ClassPathResource("fault-profiles.json").getInputStream()) {
+            define(objectMapper, builtIn);
+        }
+        if (!profilesFile.isBlank()) {
+            try (InputStream custom = Files.newInputStream(Path.of(profilesFile))) {
+                define(objectMapper, custom);
+            }
+        }
+        profiles.put(NONE, FaultProfile.NONE);
+        activate(profile);
+
+        this.errors = injected(meterRegistry, "error");
+        this.resets = injected(meterRegistry, "reset");
+        this.slowBodies = injected(meterRegistry, "slow_body");
+        Gauge.builder("mock.faults.brownout", () -> inBrownout() ? 1 : 0)
+                .description("1 while the active fault profile is browning out")
+                .register(meterRegistry);
+    }
+
+    public Map<String, FaultProfile> getProfiles() {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(profiles));
+    }
+
+    public String getActiveName() {
+        return active.get().name();
+    }
+
+    public boolean inBrownout() {
+        Active current = active.get();
+        Brownout brownout = current.profile().brownout();
+        return brownout != null && brownout.isActive(System.nanoTime() - current.activatedAt());
+    }
+
+    // adds or replaces a profile; replacing the active one restarts it with the new settings
+    public void define(String name, FaultProfile profile) {
+        if (NONE.equals(name)) {
+            throw new InvalidInputException("The profile '" + NONE + "' cannot be redefined");
+        }
+        profile.validate();
+        profiles.put(name, profile);
+        Active current = active.get();
+        if (current != null && current.name().equals(name)) {
+            activate(name);
+        }
+    }
+
+    // switches every following request to the named profile, restarting its brownout schedule and random sequence
+    public void activate(String name) {
+        FaultProfile profile = profiles.get(name);
+        if (profile == null) {
+            throw new InvalidInputException("Unknown fault profile " + name);
+        }
+        long seed = profile.seed() == null ? new Random().nextLong() : profile.seed();
+        active.set(new Active(name, profile, System.nanoTime(), new Random(seed)));
+        log.info("Fault profile '{}' active", name);
+    }
+
+    // what to do to this request, or null when it should be handled normally
+    public Fault faultFor(String method, String path) {
+        Active current = active.get();
+        FaultProfile profile = current.profile();
+        Rule rule = profile.ruleFor(method, path);
+        Brownout brownout = profile.brownout();
+        boolean browningOut = brownout != null && brownout.isActive(System.nanoTime() - current.activatedAt());
+        if (rule == null && !browningOut) {
+            return null;
+        }
+
+        Random random = current.random();
+        long delayNanos = 0;
+        int status = 0;
+        boolean reset = false;
+        int bytesPerSecond = 0;
+        if (rule != null) {
+            delayNanos += rule.latency() == null ? 0 : rule.latency().sampleNanos(random);
+            if (random.nextDouble() < rule.resetRate()) {
+                reset = true;
+            } else if (random.nextDouble() < rule.errorRate()) {
+                status = rule.status();
+            }
+            bytesPerSecond = rule.bytesPerSecond();
+        }
+        if (browningOut) {
+            delayNanos += brownout.latency() == null ? 0 : brownout.latency().sampleNanos(random);
+            if (!reset && status == 0 && random.nextDouble() < brownout.errorRate()) {
+                status = brownout.status();
+            }
+        }
+
+        if (reset) {
+            resets.increment();
+        } else if (status != 0) {
+            errors.increment();
+        } else if (bytesPerSecond > 0) {
+            slowBodies.increment();
+        }
+        return new Fault(delayNanos, status, reset, bytesPerSecond);
+    }
+
+    private void define(ObjectMapper objectMapper, InputStream json) throws IOException {
+        Map<String, FaultProfile> defined = objectMapper.readValue(json, new TypeReference<>() {});
+        defined.forEach(this::define);
+    }
+
+    private static Counter injected(MeterRegistry meterRegistry, String fault) {
+        return Counter.builder("mock.faults.injected")
+                .description("Requests answered with an injected fault")
+                .tag("fault", fault)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Waits {@code delayNanos} first, then either drops the connection ({@code reset}), answers {@code status} (when
+     * not 0) or handles the request normally with the body throttled to {@code bytesPerSecond} (when positive).
+     */
+    public record Fault(long delayNanos, int status, boolean reset, int bytesPerSecond) {}
+
+    private record Active(String name, FaultProfile profile, long activatedAt, Random random) {}
+}
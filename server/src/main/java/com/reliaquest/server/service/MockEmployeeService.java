@@ -1,58 +1,158 @@
 package com.reliaquest.server.service;
 
 import com.reliaquest.server.config.ServerConfiguration;
+import com.reliaquest.server.exception.InvalidInputException;
 import com.reliaquest.server.model.CreateMockEmployeeInput;
 import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.ImportMockEmployeeInput;
 import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.RosterSnapshot;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.UUID;
-import lombok.Getter;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.datafaker.Faker;
 import org.springframework.stereotype.Service;
 
+/**
+ * The roster is an immutable {@link RosterSnapshot}. Reads take the current snapshot without locking and keep using it
+ * however long they take; writes are serialized, derive the next snapshot (sharing all unchanged chunks) and publish it
+ * with a single volatile write.
+ */
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class MockEmployeeService {
 
+    // batches whose Idempotency-Key is remembered, so a retried batch isn't created twice
+    static final int REMEMBERED_BATCHES = 1000;
+
     private final Faker faker;
 
-    @Getter
-    private final List<MockEmployee> mockEmployees;
+    // distinguishes this instance's versions from those of a previous run
+    private final String instanceId = UUID.randomUUID().toString().substring(0, 8);
+
+    private volatile RosterSnapshot roster;
+
+    // guarded by this, oldest first
+    private final Map<String, Batch> batchesByKey = new LinkedHashMap<>();
+
+    public MockEmployeeService(Faker faker, List<MockEmployee> mockEmployees, MeterRegistry meterRegistry) {
+        this.faker = faker;
+        this.roster = RosterSnapshot.of(mockEmployees);
+        Gauge.builder("mock.employees", () -> roster.size())
+                .description("Employees in the current roster")
+                .register(meterRegistry);
+    }
+
+    // the current version of the roster; it never changes, later writes publish new versions
+    public RosterSnapshot getMockEmployees() {
+        return roster;
+    }
+
+    /*
+     * Entity tag of the given roster version; changes with every create and delete. Weak, as the gzipped and the plain
+     * body of a version differ byte for byte, and Tomcat doesn't compress responses carrying a strong tag.
+     */
+    public String getETag(RosterSnapshot snapshot) {
+        return "W/\"" + instanceId + "-" + snapshot.version() + "\"";
+    }
 
     public Optional<MockEmployee> findById(@NonNull UUID uuid) {
-        return mockEmployees.stream()
+        return roster.stream()
                 .filter(mockEmployee -> Objects.nonNull(mockEmployee.getId())
                         && mockEmployee.getId().equals(uuid))
                 .findFirst();
     }
 
     public MockEmployee create(@NonNull CreateMockEmployeeInput input) {
-        final var mockEmployee = MockEmployee.from(
+        final var mockEmployee = newEmployee(input);
+        publish(List.of(mockEmployee));
+        log.debug("Added employee: {}", mockEmployee);
+        return mockEmployee;
+    }
+
+    // one roster change for the whole batch
+    public List<MockEmployee> createAll(@NonNull List<CreateMockEmployeeInput> inputs) {
+        final var created = inputs.stream().map(this::newEmployee).toList();
+        publish(created);
+        log.debug("Added {} employees", created.size());
+        return created;
+    }
+
+    /*
+     * createAll at most once per idempotency key; a retry gets the employees the first request created. Reusing a key
+     * for different employees is rejected with an InvalidInputException rather than answered with the first batch.
+     */
+    public synchronized List<MockEmployee> createAll(
+            @NonNull String idempotencyKey, @NonNull List<CreateMockEmployeeInput> inputs) {
+        final var remembered = batchesByKey.get(idempotencyKey);
+        if (remembered != null) {
+            if (!remembered.inputs().equals(inputs)) {
+                throw new InvalidInputException("Idempotency-Key was already used for a different batch");
+            }
+            log.debug(
+                    "Replayed batch {} of {} employees",
+                    idempotencyKey,
+                    remembered.created().size());
+            return remembered.created();
+        }
+        final var created = createAll(inputs);
+        if (batchesByKey.size() >= REMEMBERED_BATCHES) {
+            batchesByKey.remove(batchesByKey.keySet().iterator().next());
+        }
+        batchesByKey.put(idempotencyKey, new Batch(List.copyOf(inputs), created));
+        return created;
+    }
+
+    // adds already identified employees, e.g. from an import, as one roster change; a missing id or email is generated
+    public List<MockEmployee> importAll(@NonNull List<ImportMockEmployeeInput> inputs) {
+        final var imported = inputs.stream().map(this::importedEmployee).toList();
+        publish(imported);
+        log.debug("Imported {} employees", imported.size());
+        return imported;
+    }
+
+    private MockEmployee importedEmployee(ImportMockEmployeeInput input) {
+        final var mockEmployee =
+                input.getEmail() == null ? newEmployee(input) : MockEmployee.from(input.getEmail(), input);
+        if (input.getId() != null) {
+            mockEmployee.setId(input.getId());
+        }
+        return mockEmployee;
+    }
+
+    private MockEmployee newEmployee(CreateMockEmployeeInput input) {
+        return MockEmployee.from(
                 ServerConfiguration.EMAIL_TEMPLATE.formatted(
                         faker.twitter().userName().toLowerCase()),
                 input);
-        mockEmployees.add(mockEmployee);
-        log.debug("Added employee: {}", mockEmployee);
-        return mockEmployee;
     }
 
-    public boolean delete(@NonNull DeleteMockEmployeeInput input) {
-        final var mockEmployee = mockEmployees.stream()
-                .filter(employee -> Objects.nonNull(employee.getName())
-                        && employee.getName().equalsIgnoreCase(input.getName()))
-                .findFirst();
-        if (mockEmployee.isPresent()) {
-            mockEmployees.remove(mockEmployee.get());
-            log.debug("Removed employee: {}", mockEmployee.get());
-            return true;
+    public synchronized boolean delete(@NonNull DeleteMockEmployeeInput input) {
+        final var current = roster;
+        int index = 0;
+        for (MockEmployee employee : current) {
+            if (Objects.nonNull(employee.getName()) && employee.getName().equalsIgnoreCase(input.getName())) {
+                roster = current.without(index);
+                log.debug("Removed employee: {}", employee);
+                return true;
+            }
+            index++;
         }
 
         return false;
     }
+
+    private synchronized void publish(List<MockEmployee> added) {
+        roster = roster.withAdded(added);
+    }
+
+    // what a batch asked for, to tell a retry from a reused key, and what it created
+    private record Batch(List<CreateMockEmployeeInput> inputs, List<MockEmployee> created) {}
 }
@@ -0,0 +1,163 @@
+package com.reliaquest.server.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.reliaquest.server.exception.InvalidInputException;
+import com.reliaquest.server.model.ImportMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.TransferResult;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * Bulk export and import of the roster as NDJSON, one employee per line. Both directions stream: the export writes a
+ * roster snapshot straight to the response and the import parses one line at a time, adding employees to the roster
+ * in batches of {@value #BATCH_SIZE}, each a single roster change. Memory use doesn't grow with the stream length
+ * beyond the roster itself.
+ */
+@Slf4j
+@Service
+public class RosterTransferService {
+
+    static final int BATCH_SIZE = 1000;
+
+    private final MockEmployeeService mockEmployeeService;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ObjectWriter writer;
+    private final ObjectReader reader;
+
+    public RosterTransferService(
+            MockEmployeeService mockEmployeeService, Validator validator, ObjectMapper objectMapper) {
+        this.mockEmployeeService = mockEmployeeService;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.writer = objectMapper.writerFor(MockEmployee.class);
+        this.reader = objectMapper.readerFor(ImportMockEmployeeInput.class);
+    }
+
+    // writes the current roster version, each employee followed by a newline
+    public TransferResult export(OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        long records = 0;
+        try (JsonGenerator generator = objectMapper.createGenerator(out)) {
+            generator.setRootValueSeparator(new SerializedString("\n"));
+            for (MockEmployee employee : mockEmployeeService.getMockEmployees()) {
+                writer.writeValue(generator, employee);
+                records++;
+            }
+            if (records > 0) {
+                generator.writeRaw('\n');
+            }
+        }
+        TransferResult result = TransferResult.of(records, started);
+        log.info(
+                "Exported {} employees in {} ms ({} records/s)",
+                result.records(),
+                result.millis(),
+                result.recordsPerSecond());
+        return result;
+    }
+
+    /*
+     * Adds every employee of the stream. A line that doesn't parse, fails validation or repeats an existing id stops the
+     * import with an InvalidInputException; everything before it stays imported, and the message says how much.
+     */
+    public TransferResult importFrom(InputStream in) throws IOException {
+        long started = System.nanoTime();
+        Set<UUID> ids = mockEmployeeService.getMockEmployees().stream()
+                .map(MockEmployee::getId)
+                .collect(Collectors.toCollection(HashSet::new));
+        List<ImportMockEmployeeInput> batch = new ArrayList<>(BATCH_SIZE);
+        long records = 0;
+        MappingIterator<ImportMockEmployeeInput> iterator;
+        try {
+            // reads the first token already, so a malformed first record fails here
+            iterator = reader.readValues(in);
+        } catch (JsonProcessingException e) {
+            throw rejected(1, e.getOriginalMessage(), 0);
+        }
+        try (MappingIterator<ImportMockEmployeeInput> lines = iterator) {
+            while (true) {
+                long record = records + batch.size() + 1;
+                ImportMockEmployeeInput input;
+                String problem;
+                try {
+                    if (!lines.hasNextValue()) {
+                        break;
+                    }
+                    input = lines.nextValue();
+                    problem = problem(input, ids);
+                } catch (JsonProcessingException e) {
+                    input = null;
+                    problem = e.getOriginalMessage();
+                }
+                if (problem != null) {
+                    records += flush(batch);
+                    throw rejected(record, problem, records);
+                }
+                batch.add(input);
+                if (batch.size() == BATCH_SIZE) {
+                    records += flush(batch);
+                }
+            }
+        }
+        records += flush(batch);
+        TransferResult result = TransferResult.of(records, started);
+        log.info(
+                "Imported {} employees in {} ms ({} records/s)",
+                result.records(),
+                result.millis(),
+                result.recordsPerSecond());
+        return result;
+    }
+
+    private static InvalidInputException rejected(long record, String problem, long imported) {
+        return new InvalidInputException(
+                "Record " + record + " rejected (" + problem + "); " + imported + " employees imported before it");
+    }
+
+    // adds the batch as one roster change
+    private int flush(List<ImportMockEmployeeInput> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+        int added = mockEmployeeService.importAll(batch).size();
+        batch.clear();
+        return added;
+    }
+
+    // null when the employee can be imported
+    private String problem(ImportMockEmployeeInput input, Set<UUID> ids) {
+        if (input == null) {
+            return "null is not an employee";
+        }
+        Set<ConstraintViolation<ImportMockEmployeeInput>> violations = validator.validate(input);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                    .map(violation -> violation.getPropertyPath() + " " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining(", "));
+        }
+        if (input.getId() != null && !ids.add(input.getId())) {
+            return "id " + input.getId() + " already exists";
+        }
+        return null;
+    }
+}
@@ -0,0 +1,160 @@
+package com.reliaquest.server.web;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.reliaquest.server.model.Response;
+import com.reliaquest.server.service.FaultProfileService;
+import com.reliaquest.server.service.FaultProfileService.Fault;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import org.apache.catalina.connector.ClientAbortException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Applies the active {@link FaultProfileService fault profile} to {@code /api/**} requests: it sleeps for the drawn
+ * latency, then answers an injected 5xx, drops the connection mid-response, or lets the request through with its body
+ * throttled. Runs ahead of the request limit interceptor, so injected faults don't count against it.
+ */
+@Component
+@RequiredArgsConstructor
+public class FaultInjectionFilter extends OncePerRequestFilter {
+
+    // bytes of a promised body that are sent before the connection is dropped
+    private static final byte[] TRUNCATED_BODY = "{\"data\":[".getBytes(StandardCharsets.UTF_8);
+
+    private final FaultProfileService faultProfileService;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Fault fault = faultProfileService.faultFor(request.getMethod(), request.getRequestURI());
+        if (fault == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        sleep(fault.delayNanos());
+        if (fault.reset()) {
+            reset(response);
+        } else if (fault.status() != 0) {
+            response.setStatus(fault.status());
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            objectMapper.writeValue(response.getOutputStream(), Response.error("Injected fault"));
+        } else if (fault.bytesPerSecond() > 0) {
+            ThrottledResponse throttled = new ThrottledResponse(response, fault.bytesPerSecond());
+            chain.doFilter(request, throttled);
+            throttled.flushBuffer();
+        } else {
+            chain.doFilter(request, response);
+        }
+    }
+
+    /*
+     * Commits a response that promises more body than it sends, then has Tomcat close the connection: the client sees
+     * the stream end early, as when a connection is reset mid-response. Tomcat treats a ClientAbortException as the
+     * peer having gone away, so it closes without logging an error.
+     */
+    private static void reset(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_OK);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setContentLength(TRUNCATED_BODY.length * 64);
+        response.getOutputStream().write(TRUNCATED_BODY);
+        response.flushBuffer();
+        throw new ClientAbortException("Injected connection reset");
+    }
+
+    private static void sleep(long nanos) throws IOException {
+        if (nanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while injecting latency", e);
+        }
+    }
+
+    // writes the body in slices of 1/20 s worth of bytes, each flushed and then paced to the rate
+    private static class ThrottledResponse extends HttpServletResponseWrapper {
+
+        private final ThrottledOutputStream stream;
+
+        ThrottledResponse(HttpServletResponse response, int bytesPerSecond) {
+            super(response);
+            this.stream = new ThrottledOutputStream(response, bytesPerSecond);
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            return stream;
+        }
+    }
+
+    private static class ThrottledOutputStream extends ServletOutputStream {
+
+        private final HttpServletResponse response;
+        private final int bytesPerSecond;
+        private final int slice;
+        private long started;
+        private long written;
+
+        ThrottledOutputStream(HttpServletResponse response, int bytesPerSecond) {
+            this.response = response;
+            this.bytesPerSecond = bytesPerSecond;
+            this.slice = Math.max(1, bytesPerSecond / 20);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] {(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length) throws IOException {
+            if (started == 0) {
+                started = System.nanoTime();
+            }
+            ServletOutputStream out = response.getOutputStream();
+            while (length > 0) {
+                int chunk = Math.min(slice, length);
+                out.write(bytes, offset, chunk);
+                out.flush();
+                offset += chunk;
+                length -= chunk;
+                written += chunk;
+                sleep(started + written * 1_000_000_000L / bytesPerSecond - System.nanoTime());
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            response.getOutputStream().flush();
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
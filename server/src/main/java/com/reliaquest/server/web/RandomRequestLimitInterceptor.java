@@ -1,5 +1,8 @@
 package com.reliaquest.server.web;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import java.time.Duration;
@@ -18,12 +21,27 @@ public class RandomRequestLimitInterceptor implements HandlerInterceptor {
 
     private final AtomicReference<RequestLimit> requestLimit = new AtomicReference<>(RequestLimit.init());
 
+    private final Counter rejectedRequests;
+
+    public RandomRequestLimitInterceptor(MeterRegistry meterRegistry) {
+        this.rejectedRequests = Counter.builder("mock.requests.rejected")
+                .description("Requests rejected with 429 by the random request limit")
+                .register(meterRegistry);
+        Gauge.builder("mock.requests.limit", () -> REQUEST_LIMIT)
+                .description("Requests allowed before the limiter backs off")
+                .register(meterRegistry);
+        Gauge.builder("mock.requests.backoff", REQUEST_BACKOFF_DURATION::toSeconds)
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
     @Override
     public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
         if (requestLimit.get().getCount() >= REQUEST_LIMIT) {
             if (Instant.now()
                     .minus(REQUEST_BACKOFF_DURATION)
                     .isBefore(requestLimit.get().getLastRequested())) {
+                rejectedRequests.increment();
                 response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
                 return false;
             }
@@ -0,0 +1,47 @@
+package com.reliaquest.server.web;
+
+import com.reliaquest.server.jfr.InboundRequestEvent;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Emits an {@link InboundRequestEvent} per request when JFR records it. Runs ahead of fault injection and the request
+ * limit, so the event spans injected latency too. Without a recording the event is never populated.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class RequestEventFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        InboundRequestEvent event = new InboundRequestEvent();
+        event.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.method = request.getMethod();
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                event.uriTemplate = pattern != null ? pattern.toString() : request.getRequestURI();
+                if (request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE)
+                        instanceof HandlerMethod handler) {
+                    event.handler = handler.getBeanType().getSimpleName() + "#"
+                            + handler.getMethod().getName();
+                }
+                event.status = response.getStatus();
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.reliaquest.server.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.exception.InvalidInputException;
+import com.reliaquest.server.model.FaultProfile.Brownout;
+import com.reliaquest.server.model.FaultProfile.Latency;
+import com.reliaquest.server.model.FaultProfile.Latency.Type;
+import com.reliaquest.server.model.FaultProfile.Rule;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class FaultProfileTest {
+
+    private static final long SECOND = 1_000_000_000L;
+    private static final long MILLI = 1_000_000L;
+
+    @Test
+    void sampleNanos_fixed() {
+        assertEquals(25 * MILLI, new Latency(Type.FIXED, 25, 0, 0, 0).sampleNanos(new Random(1)));
+    }
+
+    @Test
+    void sampleNanos_clampsToZeroAndMax() {
+        Latency normal = new Latency(Type.NORMAL, 10, 50, 0, 40);
+        Random random = new Random(7);
+        long[] samples = new long[10_000];
+        Arrays.setAll(samples, i -> normal.sampleNanos(random));
+
+        assertEquals(0, Arrays.stream(samples).min().orElseThrow());
+        assertEquals(40 * MILLI, Arrays.stream(samples).max().orElseThrow());
+        assertEquals(15 * MILLI, new Latency(Type.FIXED, 25, 0, 0, 15).sampleNanos(random));
+    }
+
+    @Test
+    void sampleNanos_longTail_hitsMedianAndP99() {
+        Latency longTail = new Latency(Type.LONG_TAIL, 20, 0, 800, 0);
+        Random random = new Random(42);
+        long[] samples = new long[100_000];
+        Arrays.setAll(samples, i -> longTail.sampleNanos(random));
+        Arrays.sort(samples);
+
+        double median = samples[samples.length / 2] / (double) MILLI;
+        double p99 = samples[samples.length * 99 / 100] / (double) MILLI;
+        assertEquals(20, median, 1);
+        assertEquals(800, p99, 80);
+    }
+
+    @Test
+    void isActive_duringFirstDurationOfEveryPeriod() {
+        Brownout brownout = new Brownout(60, 15, null, 0.5, 0);
+
+        assertTrue(brownout.isActive(0));
+        assertTrue(brownout.isActive(15 * SECOND - 1));
+        assertFalse(brownout.isActive(15 * SECOND));
+        assertFalse(brownout.isActive(60 * SECOND - 1));
+        assertTrue(brownout.isActive(60 * SECOND));
+        assertTrue(brownout.isActive(3 * 60 * SECOND + 14 * SECOND));
+        assertFalse(new Brownout(60, 0, null, 0, 0).isActive(0));
+        assertTrue(new Brownout(60, 60, null, 0, 0).isActive(59 * SECOND));
+    }
+
+    @Test
+    void ruleFor_firstMatchingRuleWins() {
+        Rule listing = new Rule("GET", "/api/v1/employee", null, 0, 0, 0, 65536);
+        Rule everything = new Rule(null, "/api/**", null, 0.1, 0, 0, 0);
+        FaultProfile profile = new FaultProfile(List.of(listing, everything), null, null);
+
+        assertSame(listing, profile.ruleFor("get", "/api/v1/employee"));
+        assertSame(everything, profile.ruleFor("POST", "/api/v1/employee"));
+        assertSame(everything, profile.ruleFor("GET", "/api/v1/employee/1"));
+        assertNull(profile.ruleFor("GET", "/admin/faults"));
+        assertEquals(503, everything.status());
+    }
+
+    @Test
+    void validate_rejectsInvalidSettings() {
+        assertInvalid("Unknown method FETCH", rule("FETCH", null, 0, 0, 0, 0));
+        assertInvalid("errorRate must be between 0 and 1", rule(null, null, 1.5, 0, 0, 0));
+        assertInvalid("errorRate must be between 0 and 1", rule(null, null, Double.NaN, 0, 0, 0));
+        assertInvalid("resetRate must be between 0 and 1", rule(null, null, 0, 0, -0.1, 0));
+        assertInvalid("errorStatus must be a 5xx status", rule(null, null, 0.1, 429, 0, 0));
+        assertInvalid("bytesPerSecond must not be negative", rule(null, null, 0, 0, 0, -1));
+        assertInvalid(
+                "Latency needs a type, one of FIXED, NORMAL, LONG_TAIL",
+                rule(null, new Latency(null, 10, 0, 0, 0), 0, 0, 0, 0));
+        assertInvalid("Latency must not be negative", rule(null, new Latency(Type.NORMAL, 10, -1, 0, 0), 0, 0, 0, 0));
+        assertInvalid(
+                "LONG_TAIL latency needs ms > 0 and p99Ms >= ms",
+                rule(null, new Latency(Type.LONG_TAIL, 20, 0, 10, 0), 0, 0, 0, 0));
+        assertInvalid(
+                "Brownout needs 0 <= durationSeconds <= periodSeconds",
+                new FaultProfile(List.of(), new Brownout(10, 11, null, 0, 0), null));
+        assertInvalid(
+                "Brownout needs 0 <= durationSeconds <= periodSeconds",
+                new FaultProfile(List.of(), new Brownout(0, 0, null, 0, 0), null));
+        assertInvalid(
+                "errorStatus must be a 5xx status",
+                new FaultProfile(List.of(), new Brownout(10, 5, null, 1, 404), null));
+    }
+
+    @Test
+    void validate_acceptsBuiltInShapes() {
+        new FaultProfile(
+                        List.of(new Rule(
+                                "get", "/api/**", new Latency(Type.LONG_TAIL, 20, 0, 800, 10000), 1, 599, 0, 1)),
+                        new Brownout(60, 60, new Latency(Type.FIXED, 0, 0, 0, 0), 0, 0),
+                        42L)
+                .validate();
+    }
+
+    private static FaultProfile rule(
+            String method, Latency latency, double errorRate, int errorStatus, double resetRate, int bytesPerSecond) {
+        return new FaultProfile(
+                List.of(new Rule(method, null, latency, errorRate, errorStatus, resetRate, bytesPerSecond)),
+                null,
+                null);
+    }
+
+    private static void assertInvalid(String message, FaultProfile profile) {
+        assertEquals(
+                message,
+                assertThrows(InvalidInputException.class, profile::validate).getMessage());
+    }
+}
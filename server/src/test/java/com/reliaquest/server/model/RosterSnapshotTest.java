@@ -0,0 +1,167 @@
+package com.reliaquest.server.model;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+
+class RosterSnapshotTest {
+
+    private static final int CHUNK = RosterSnapshot.CHUNK;
+
+    @Test
+    void of_startsAtVersionZero() {
+        RosterSnapshot snapshot = RosterSnapshot.of(employees(0, CHUNK + 3));
+
+        assertEquals(0, snapshot.version());
+        assertEquals(employees(0, CHUNK + 3), snapshot);
+    }
+
+    @Test
+    void withAdded_fillsPartialLastChunk_andStartsNewOnes() {
+        List<MockEmployee> expected = new ArrayList<>(employees(0, CHUNK - 2));
+        RosterSnapshot snapshot = RosterSnapshot.of(expected);
+
+        // two fit into the last chunk, the rest spill over into two more
+        List<MockEmployee> added = employees(CHUNK - 2, 2 + CHUNK + 5);
+        expected.addAll(added);
+
+        assertContents(expected, snapshot.withAdded(added));
+    }
+
+    @Test
+    void withAdded_startsNewChunk_whenLastOneIsFull() {
+        List<MockEmployee> expected = new ArrayList<>(employees(0, 2 * CHUNK));
+        RosterSnapshot snapshot = RosterSnapshot.of(expected);
+
+        List<MockEmployee> added = employees(2 * CHUNK, 1);
+        expected.addAll(added);
+
+        assertContents(expected, snapshot.withAdded(added));
+    }
+
+    @Test
+    void withAdded_toEmptyRoster() {
+        List<MockEmployee> added = employees(0, 3);
+
+        assertContents(added, RosterSnapshot.of(List.of()).withAdded(added));
+    }
+
+    @Test
+    void without_removesFirstAndLastEmployee() {
+        List<MockEmployee> expected = new ArrayList<>(employees(0, 2 * CHUNK + 5));
+        RosterSnapshot snapshot = RosterSnapshot.of(expected);
+
+        snapshot = snapshot.without(0);
+        expected.remove(0);
+        assertContents(expected, snapshot);
+
+        snapshot = snapshot.without(snapshot.size() - 1);
+        expected.remove(expected.size() - 1);
+        assertContents(expected, snapshot);
+    }
+
+    @Test
+    void without_aroundChunkBoundary() {
+        List<MockEmployee> expected = new ArrayList<>(employees(0, 3 * CHUNK));
+        RosterSnapshot snapshot = RosterSnapshot.of(expected);
+
+        // the last of the first chunk, then the first of the (shifted) second one
+        snapshot = snapshot.without(CHUNK - 1);
+        expected.remove(CHUNK - 1);
+        assertContents(expected, snapshot);
+
+        snapshot = snapshot.without(CHUNK - 1);
+        expected.remove(CHUNK - 1);
+        assertContents(expected, snapshot);
+    }
+
+    @Test
+    void without_dropsChunkItEmptied() {
+        List<MockEmployee> expected = new ArrayList<>(employees(0, CHUNK + 1));
+        RosterSnapshot snapshot = RosterSnapshot.of(expected);
+
+        // the second chunk holds only the last employee
+        snapshot = snapshot.without(CHUNK);
+        expected.remove(CHUNK);
+        assertContents(expected, snapshot);
+
+        // and a new one is started once the first chunk is full again
+        List<MockEmployee> added = employees(CHUNK + 1, 2);
+        snapshot = snapshot.withAdded(added);
+        expected.addAll(added);
+        assertContents(expected, snapshot);
+    }
+
+    @Test
+    void without_emptiesRoster() {
+        RosterSnapshot snapshot = RosterSnapshot.of(employees(0, 1)).without(0);
+
+        assertContents(List.of(), snapshot);
+        assertThrows(IndexOutOfBoundsException.class, () -> snapshot.without(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> snapshot.get(0));
+    }
+
+    @Test
+    void everyWrite_bumpsVersion_andLeavesEarlierSnapshotsAsTheyWere() {
+        List<MockEmployee> initial = employees(0, CHUNK + 1);
+        RosterSnapshot first = RosterSnapshot.of(initial);
+
+        RosterSnapshot second = first.withAdded(employees(CHUNK + 1, 1));
+        RosterSnapshot third = second.without(CHUNK);
+        RosterSnapshot fourth = third.withAdded(List.of());
+
+        assertEquals(
+                List.of(0L, 1L, 2L, 3L), List.of(first.version(), second.version(), third.version(), fourth.version()));
+        assertContents(initial, first);
+        assertEquals(CHUNK + 2, second.size());
+        assertEquals(third, fourth);
+    }
+
+    @Test
+    void randomWrites_matchAnArrayList() {
+        Random random = new Random(42);
+        List<MockEmployee> expected = new ArrayList<>();
+        RosterSnapshot snapshot = RosterSnapshot.of(List.of());
+        int next = 0;
+        for (int step = 0; step < 2000; step++) {
+            if (expected.isEmpty() || random.nextInt(3) > 0) {
+                List<MockEmployee> added = employees(next, random.nextInt(CHUNK * 2) + 1);
+                next += added.size();
+                snapshot = snapshot.withAdded(added);
+                expected.addAll(added);
+            } else {
+                int index = random.nextInt(expected.size());
+                snapshot = snapshot.without(index);
+                expected.remove(index);
+            }
+            assertEquals(step + 1, snapshot.version());
+        }
+        assertContents(expected, snapshot);
+    }
+
+    // checks indexed access and iteration separately, as they walk the chunks differently
+    private static void assertContents(List<MockEmployee> expected, RosterSnapshot snapshot) {
+        assertEquals(expected.size(), snapshot.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), snapshot.get(i), "employee " + i);
+        }
+        List<MockEmployee> iterated = new ArrayList<>();
+        snapshot.iterator().forEachRemaining(iterated::add);
+        assertEquals(expected, iterated);
+    }
+
+    private static List<MockEmployee> employees(int from, int count) {
+        return IntStream.range(from, from + count)
+                .mapToObj(i -> MockEmployee.builder()
+                        .id(new UUID(0, i))
+                        .name("Employee " + i)
+                        .build())
+                .toList();
+    }
+}
@@ -0,0 +1,170 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.exception.InvalidInputException;
+import com.reliaquest.server.model.FaultProfile;
+import com.reliaquest.server.model.FaultProfile.Brownout;
+import com.reliaquest.server.model.FaultProfile.Latency;
+import com.reliaquest.server.model.FaultProfile.Latency.Type;
+import com.reliaquest.server.model.FaultProfile.Rule;
+import com.reliaquest.server.service.FaultProfileService.Fault;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+class FaultProfileServiceTest {
+
+    private static final String PATH = "/api/v1/employee";
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void faultFor_nothing_whileProfileNoneIsActive() throws IOException {
+        FaultProfileService service = service("none");
+
+        assertEquals(FaultProfileService.NONE, service.getActiveName());
+        assertNull(service.faultFor("GET", PATH));
+        assertFalse(service.inBrownout());
+    }
+
+    @Test
+    void faultFor_repeatsSequence_forFixedSeed() throws IOException {
+        List<Fault> first = faults(service("flaky"), 500);
+        List<Fault> again = faults(service("flaky"), 500);
+
+        assertEquals(first, again);
+        assertTrue(first.stream().anyMatch(Fault::reset));
+        assertTrue(first.stream().anyMatch(fault -> fault.status() == 503));
+        assertTrue(first.stream().allMatch(fault -> fault.delayNanos() == 10_000_000L));
+    }
+
+    @Test
+    void activate_restartsSequence() throws IOException {
+        FaultProfileService service = service("flaky");
+        List<Fault> first = faults(service, 200);
+
+        service.activate("none");
+        service.activate("flaky");
+
+        assertEquals(first, faults(service, 200));
+    }
+
+    @Test
+    void faultFor_differs_forAnotherSeed() throws IOException {
+        FaultProfileService service = service("none");
+        service.define("flaky-7", withSeed(service.getProfiles().get("flaky"), 7L));
+        service.activate("flaky-7");
+
+        assertNotEquals(faults(service("flaky"), 500), faults(service, 500));
+    }
+
+    @Test
+    void faultFor_matchesOnlyRuledRequests() throws IOException {
+        FaultProfileService service = service("slow-body");
+
+        Fault listing = service.faultFor("GET", PATH);
+        Fault create = service.faultFor("POST", PATH);
+
+        assertEquals(new Fault(0, 0, false, 65536), listing);
+        assertEquals(new Fault(10_000_000L, 0, false, 0), create);
+        assertNull(service.faultFor("GET", "/admin/faults"));
+    }
+
+    @Test
+    void faultFor_addsBrownout_whileItLasts() throws IOException {
+        FaultProfileService service = service("none");
+        Latency second = new Latency(Type.FIXED, 1000, 0, 0, 0);
+        service.define("always", new FaultProfile(List.of(), new Brownout(60, 60, second, 1, 502), 1L));
+        service.define("never", new FaultProfile(List.of(), new Brownout(60, 0, second, 1, 502), 1L));
+
+        service.activate("always");
+        assertTrue(service.inBrownout());
+        assertEquals(new Fault(1_000_000_000L, 502, false, 0), service.faultFor("GET", "/anything"));
+
+        service.activate("never");
+        assertFalse(service.inBrownout());
+        assertNull(service.faultFor("GET", PATH));
+    }
+
+    @Test
+    void define_replacingActiveProfile_appliesItRightAway() throws IOException {
+        FaultProfileService service = service("none");
+        service.define("custom", profile(0));
+        service.activate("custom");
+        assertEquals(0, service.faultFor("GET", PATH).status());
+
+        service.define("custom", profile(1));
+
+        assertEquals("custom", service.getActiveName());
+        assertEquals(500, service.faultFor("GET", PATH).status());
+    }
+
+    @Test
+    void defineAndActivate_rejectInvalidRequests() throws IOException {
+        FaultProfileService service = service("none");
+
+        assertEquals(
+                "The profile 'none' cannot be redefined",
+                assertThrows(InvalidInputException.class, () -> service.define("none", profile(0)))
+                        .getMessage());
+        assertThrows(InvalidInputException.class, () -> service.define("broken", profile(2)));
+        assertFalse(service.getProfiles().containsKey("broken"));
+        assertEquals(
+                "Unknown fault profile missing",
+                assertThrows(InvalidInputException.class, () -> service.activate("missing"))
+                        .getMessage());
+        assertEquals(FaultProfileService.NONE, service.getActiveName());
+    }
+
+    @Test
+    void profilesFile_addsToAndReplacesBuiltInProfiles() throws IOException {
+        Path file = directory.resolve("profiles.json");
+        Files.writeString(
+                file,
+                """
+                {"flaky": {"seed": 1, "rules": [{"errorRate": 1, "errorStatus": 500}]},
+                 "down": {"rules": [{"resetRate": 1}]}}
+                """);
+
+        FaultProfileService service = new FaultProfileService(
+                Jackson2ObjectMapperBuilder.json().build(), new SimpleMeterRegistry(), file.toString(), "down");
+
+        assertTrue(service.faultFor("GET", PATH).reset());
+        service.activate("flaky");
+        assertEquals(500, service.faultFor("GET", PATH).status());
+        assertTrue(service.getProfiles().containsKey("long-tail"));
+    }
+
+    private static FaultProfileService service(String active) throws IOException {
+        return new FaultProfileService(
+                Jackson2ObjectMapperBuilder.json().build(), new SimpleMeterRegistry(), "", active);
+    }
+
+    private static List<Fault> faults(FaultProfileService service, int requests) {
+        List<Fault> faults = new ArrayList<>(requests);
+        IntStream.range(0, requests).forEach(i -> faults.add(service.faultFor("GET", PATH)));
+        return faults;
+    }
+
+    private static FaultProfile profile(double errorRate) {
+        return new FaultProfile(List.of(new Rule(null, "/api/**", null, errorRate, 500, 0, 0)), null, 1L);
+    }
+
+    private static FaultProfile withSeed(FaultProfile profile, long seed) {
+        return new FaultProfile(profile.rules(), profile.brownout(), seed);
+    }
+}
@@ -0,0 +1,111 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.exception.InvalidInputException;
+import com.reliaquest.server.model.CreateMockEmployeeInput;
+import com.reliaquest.server.model.DeleteMockEmployeeInput;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.RosterSnapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Optional;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.Test;
+
+class MockEmployeeServiceTest {
+
+    private final MockEmployeeService service =
+            new MockEmployeeService(new Faker(), List.of(), new SimpleMeterRegistry());
+
+    @Test
+    void getETag_isWeak_andChangesWithEveryWrite() {
+        RosterSnapshot before = service.getMockEmployees();
+        String eTag = service.getETag(before);
+
+        service.create(input("Tiger Nixon"));
+
+        assertTrue(eTag.startsWith("W/\"") && eTag.endsWith("\""), eTag);
+        assertEquals(eTag, service.getETag(before));
+        assertNotEquals(eTag, service.getETag(service.getMockEmployees()));
+    }
+
+    @Test
+    void everyWrite_publishesNewVersion_leavingEarlierOnesToTheirReaders() {
+        RosterSnapshot initial = service.getMockEmployees();
+
+        MockEmployee created = service.create(input("Tiger Nixon"));
+        RosterSnapshot afterCreate = service.getMockEmployees();
+        service.createAll(List.of(input("Ann"), input("Bo")));
+        RosterSnapshot afterBatch = service.getMockEmployees();
+        DeleteMockEmployeeInput delete = new DeleteMockEmployeeInput();
+        delete.setName("tiger nixon");
+        assertTrue(service.delete(delete));
+
+        assertEquals(
+                List.of(0L, 1L, 2L, 3L),
+                List.of(
+                        initial.version(),
+                        afterCreate.version(),
+                        afterBatch.version(),
+                        service.getMockEmployees().version()));
+        assertEquals(List.of(), initial);
+        assertEquals(List.of(created), afterCreate);
+        assertEquals(3, afterBatch.size());
+        assertEquals(
+                List.of("Ann", "Bo"),
+                service.getMockEmployees().stream().map(MockEmployee::getName).toList());
+        assertEquals(Optional.empty(), service.findById(created.getId()));
+    }
+
+    @Test
+    void createAll_withIdempotencyKey_createsOnce_andReplaysTheFirstResult() {
+        List<MockEmployee> first = service.createAll("k1", List.of(input("Q One")));
+        List<MockEmployee> retried = service.createAll("k1", List.of(input("Q One")));
+
+        assertEquals(first, retried);
+        assertEquals(1, service.getMockEmployees().size());
+        assertEquals(1, service.getMockEmployees().version());
+    }
+
+    @Test
+    void createAll_rejectsKeyReusedForDifferentBatch() {
+        service.createAll("k1", List.of(input("Q One")));
+
+        InvalidInputException rejected =
+                assertThrows(InvalidInputException.class, () -> service.createAll("k1", List.of(input("Q Two"))));
+
+        assertEquals("Idempotency-Key was already used for a different batch", rejected.getMessage());
+        assertEquals(
+                List.of("Q One"),
+                service.getMockEmployees().stream().map(MockEmployee::getName).toList());
+    }
+
+    @Test
+    void createAll_forgetsOldestKeys_beyondTheLimit() {
+        for (int i = 0; i <= MockEmployeeService.REMEMBERED_BATCHES; i++) {
+            service.createAll("k" + i, List.of(input("Employee " + i)));
+        }
+
+        // the oldest key is forgotten, the newest still replays
+        service.createAll("k0", List.of(input("Employee 0")));
+        int newest = MockEmployeeService.REMEMBERED_BATCHES;
+        service.createAll("k" + newest, List.of(input("Employee " + newest)));
+
+        assertEquals(
+                MockEmployeeService.REMEMBERED_BATCHES + 2,
+                service.getMockEmployees().size());
+    }
+
+    private static CreateMockEmployeeInput input(String name) {
+        CreateMockEmployeeInput input = new CreateMockEmployeeInput();
+        input.setName(name);
+        input.setSalary(50000);
+        input.setAge(30);
+        input.setTitle("Engineer");
+        return input;
+    }
+}
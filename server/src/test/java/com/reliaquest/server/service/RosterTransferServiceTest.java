@@ -0,0 +1,179 @@
+package com.reliaquest.server.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.reliaquest.server.exception.InvalidInputException;
+import com.reliaquest.server.model.MockEmployee;
+import com.reliaquest.server.model.TransferResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import net.datafaker.Faker;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+class RosterTransferServiceTest {
+
+    private static final UUID ID = UUID.fromString("4a3a170b-22cd-4ac2-aad1-9bb5b34a1507");
+
+    @Test
+    void export_writesOneEmployeePerLine() throws IOException {
+        RosterTransferService transfer =
+                transfer(List.of(employee(ID, "Tiger Nixon"), employee(UUID.randomUUID(), "Ann")));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        TransferResult result = transfer.export(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, result.records());
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"id\":\"" + ID + "\""));
+        assertTrue(lines[0].contains("\"employee_name\":\"Tiger Nixon\""));
+    }
+
+    @Test
+    void export_writesNothing_forAnEmptyRoster() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        assertEquals(0, transfer(List.of()).export(out).records());
+        assertEquals(0, out.size());
+    }
+
+    @Test
+    void importFrom_readsWhatExportWrote_keepingIdsAndEmails() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        transfer(List.of(employee(ID, "Tiger Nixon"))).export(out);
+        MockEmployeeService target = service(List.of());
+
+        TransferResult result = transfer(target).importFrom(new ByteArrayInputStream(out.toByteArray()));
+
+        assertEquals(1, result.records());
+        MockEmployee imported = target.findById(ID).orElseThrow();
+        assertEquals("Tiger Nixon", imported.getName());
+        assertEquals("tiger.nixon@company.com", imported.getEmail());
+    }
+
+    @Test
+    void importFrom_addsLongStreamsInBatches_generatingMissingIds() throws IOException {
+        MockEmployeeService target = service(List.of());
+        String lines = IntStream.range(0, RosterTransferService.BATCH_SIZE + 1)
+                .mapToObj(i -> record(null, "Employee " + i, 30))
+                .collect(Collectors.joining("\n"));
+
+        TransferResult result = transfer(target).importFrom(stream(lines));
+
+        assertEquals(RosterTransferService.BATCH_SIZE + 1, result.records());
+        assertEquals(
+                RosterTransferService.BATCH_SIZE + 1, target.getMockEmployees().size());
+        assertEquals(
+                RosterTransferService.BATCH_SIZE + 1,
+                target.getMockEmployees().stream()
+                        .map(MockEmployee::getId)
+                        .distinct()
+                        .count());
+    }
+
+    @Test
+    void importFrom_rejectsMalformedFirstRecord() {
+        MockEmployeeService target = service(List.of());
+
+        InvalidInputException rejected =
+                assertThrows(InvalidInputException.class, () -> transfer(target).importFrom(stream("garbage\n")));
+
+        assertTrue(rejected.getMessage().startsWith("Record 1 rejected ("), rejected.getMessage());
+        assertTrue(rejected.getMessage().endsWith("; 0 employees imported before it"), rejected.getMessage());
+        assertEquals(0, target.getMockEmployees().size());
+    }
+
+    @Test
+    void importFrom_rejectsMalformedLaterRecord_keepingThoseBeforeIt() {
+        MockEmployeeService target = service(List.of());
+
+        InvalidInputException rejected = assertThrows(InvalidInputException.class, () -> transfer(target)
+                .importFrom(stream(record(null, "First", 30) + "\ngarbage\n")));
+
+        assertTrue(rejected.getMessage().startsWith("Record 2 rejected ("), rejected.getMessage());
+        assertTrue(rejected.getMessage().endsWith("; 1 employees imported before it"), rejected.getMessage());
+        assertEquals(1, target.getMockEmployees().size());
+    }
+
+    @Test
+    void importFrom_rejectsInvalidRecord() {
+        InvalidInputException rejected = assertThrows(InvalidInputException.class, () -> transfer(service(List.of()))
+                .importFrom(stream(record(null, "Too Young", 10))));
+
+        assertEquals(
+                "Record 1 rejected (age must be greater than or equal to 16); 0 employees imported before it",
+                rejected.getMessage());
+    }
+
+    @Test
+    void importFrom_rejectsNull() {
+        InvalidInputException rejected = assertThrows(
+                InvalidInputException.class, () -> transfer(service(List.of())).importFrom(stream("null\n")));
+
+        assertTrue(rejected.getMessage().startsWith("Record 1 rejected ("), rejected.getMessage());
+    }
+
+    @Test
+    void importFrom_rejectsIdAlreadyInRoster() {
+        MockEmployeeService target = service(List.of(employee(ID, "Tiger Nixon")));
+
+        InvalidInputException rejected = assertThrows(
+                InvalidInputException.class, () -> transfer(target).importFrom(stream(record(ID, "Copy", 30))));
+
+        assertEquals(
+                "Record 1 rejected (id " + ID + " already exists); 0 employees imported before it",
+                rejected.getMessage());
+        assertEquals(1, target.getMockEmployees().size());
+    }
+
+    @Test
+    void importFrom_rejectsIdRepeatedInStream() {
+        MockEmployeeService target = service(List.of());
+
+        InvalidInputException rejected = assertThrows(InvalidInputException.class, () -> transfer(target)
+                .importFrom(stream(record(ID, "First", 30) + "\n" + record(ID, "Again", 30))));
+
+        assertTrue(rejected.getMessage().startsWith("Record 2 rejected (id " + ID), rejected.getMessage());
+        assertEquals(1, target.getMockEmployees().size());
+    }
+
+    private static RosterTransferService transfer(List<MockEmployee> roster) {
+        return transfer(service(roster));
+    }
+
+    private static RosterTransferService transfer(MockEmployeeService service) {
+        return new RosterTransferService(
+                service,
+                Validation.buildDefaultValidatorFactory().getValidator(),
+                Jackson2ObjectMapperBuilder.json().build());
+    }
+
+    private static MockEmployeeService service(List<MockEmployee> roster) {
+        return new MockEmployeeService(new Faker(), roster, new SimpleMeterRegistry());
+    }
+
+    private static MockEmployee employee(UUID id, String name) {
+        return new MockEmployee(
+                id, name, 320800, 61, "Architect", name.toLowerCase().replace(' ', '.') + "@company.com");
+    }
+
+    private static String record(UUID id, String name, int age) {
+        return (id == null ? "{" : "{\"id\":\"" + id + "\",") + "\"employee_name\":\"" + name
+                + "\",\"employee_salary\":50000,\"employee_age\":" + age + ",\"employee_title\":\"Engineer\"}";
+    }
+
+    private static ByteArrayInputStream stream(String lines) {
+        return new ByteArrayInputStream(lines.getBytes(StandardCharsets.UTF_8));
+    }
+}